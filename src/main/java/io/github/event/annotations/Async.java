@@ -8,4 +8,15 @@ import java.lang.annotation.Target;
 @Target(ElementType.METHOD)
 @Retention(RetentionPolicy.RUNTIME)
 public @interface Async {
-} 
\ No newline at end of file
+    // Maximum number of concurrent executions of the handler, 0 means unlimited
+    int maxConcurrency() default 0;
+
+    // Number of executions that may wait for a free permit before the rejection policy applies
+    int queueCapacity() default Integer.MAX_VALUE;
+
+    // With ABORT the publisher drops the event for this handler only and counts it in getRejectedEvents()
+    RejectionPolicy rejectionPolicy() default RejectionPolicy.ABORT;
+
+    // Executions that have not started within this many milliseconds of publishing are dropped, 0 means no limit
+    long timeToLiveMillis() default 0;
+}
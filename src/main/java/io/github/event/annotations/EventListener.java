@@ -8,4 +8,14 @@ import java.lang.annotation.Target;
 @Target(ElementType.METHOD)
 @Retention(RetentionPolicy.RUNTIME)
 public @interface EventListener {
-} 
\ No newline at end of file
+    // Dot-separated topic pattern; '*' matches one segment and '#' matches zero or more segments
+    String topic() default "";
+
+    // Event property whose value identifies updates to the same state; only the latest pending event per value is handled.
+    // The handler then runs after publish has returned, so its exceptions are not rethrown to the publisher; they go
+    // to the uncaught exception handler of the delivering thread and are counted by Conflater.getFailedDeliveries().
+    String conflateBy() default "";
+
+    // How long the first update for a key waits for newer ones before the handler runs
+    long windowMillis() default 0;
+}
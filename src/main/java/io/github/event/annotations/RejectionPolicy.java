@@ -0,0 +1,7 @@
+package io.github.event.annotations;
+
+public enum RejectionPolicy {
+    ABORT,
+    DISCARD,
+    CALLER_RUNS
+}
@@ -1,21 +1,42 @@
 package io.github.event.async;
 
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
-public class AsyncExecutor {
+public class AsyncExecutor implements Executor {
 
     private final ExecutorService executor;
 
+    // Unbounded pool that starts a thread per task when none is idle. Tasks never queue, so a LoadShedder
+    // has no executor wait to measure and adaptive shedding never triggers with this executor.
     public AsyncExecutor() {
         this.executor = Executors.newCachedThreadPool();
     }
 
+    // Fixed number of threads; tasks wait in a queue of the given capacity and are rejected once it is full.
+    // This is the executor to pair with a LoadShedder, which sheds while that queue wait exceeds its SLO.
+    public AsyncExecutor(int threads, int queueCapacity) {
+        if (threads <= 0 || queueCapacity <= 0) {
+            throw new IllegalArgumentException("Threads and queue capacity must be positive");
+        }
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(queueCapacity));
+    }
+
     public void submit(Runnable task) {
         executor.submit(task);
     }
 
+    @Override
+    public void execute(Runnable task) {
+        submit(task);
+    }
+
     public void shutdown() {
         executor.shutdown();
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,109 @@
+package io.github.event.async;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.github.event.annotations.RejectionPolicy;
+
+public class ConcurrencyLimiter {
+
+    private final String name;
+    private final Semaphore permits;
+    private final BlockingQueue<Runnable> pending;
+    private final RejectionPolicy rejectionPolicy;
+    private final AtomicLong rejectedCount = new AtomicLong();
+
+    public ConcurrencyLimiter(String name, int maxConcurrency, int queueCapacity, RejectionPolicy rejectionPolicy) {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("maxConcurrency must be positive: " + maxConcurrency);
+        }
+        if (queueCapacity < 0) {
+            throw new IllegalArgumentException("queueCapacity must not be negative: " + queueCapacity);
+        }
+        this.name = name;
+        this.permits = new Semaphore(maxConcurrency);
+        this.pending = queueCapacity > 0 ? new LinkedBlockingQueue<>(queueCapacity) : null;
+        this.rejectionPolicy = rejectionPolicy;
+    }
+
+    // Returns false when the task was discarded by the rejection policy
+    public boolean execute(Executor executor, Runnable task) {
+        if (permits.tryAcquire()) {
+            dispatch(executor, task);
+            return true;
+        }
+        if (pending != null && pending.offer(task)) {
+            // A worker may have released its permit before the task was queued
+            if (permits.tryAcquire()) {
+                Runnable next = pending.poll();
+                if (next != null) {
+                    dispatch(executor, next);
+                } else {
+                    permits.release();
+                }
+            }
+            return true;
+        }
+        return reject(task);
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.get();
+    }
+
+    public int getQueuedCount() {
+        return pending != null ? pending.size() : 0;
+    }
+
+    private void dispatch(Executor executor, Runnable task) {
+        try {
+            executor.execute(() -> runAndDrain(task));
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    // Queued work is drained by the thread holding the permit, so waiting tasks never occupy executor threads
+    private void runAndDrain(Runnable first) {
+        Runnable task = first;
+        while (true) {
+            while (task != null) {
+                runSafely(task);
+                task = pending != null ? pending.poll() : null;
+            }
+            permits.release();
+            if (pending == null || pending.isEmpty() || !permits.tryAcquire()) {
+                return;
+            }
+            task = pending.poll();
+        }
+    }
+
+    private void runSafely(Runnable task) {
+        try {
+            task.run();
+        } catch (RuntimeException e) {
+            Thread current = Thread.currentThread();
+            current.getUncaughtExceptionHandler().uncaughtException(current, e);
+        }
+    }
+
+    private boolean reject(Runnable task) {
+        rejectedCount.incrementAndGet();
+        switch (rejectionPolicy) {
+            case DISCARD:
+                return false;
+            case CALLER_RUNS:
+                runSafely(task);
+                return true;
+            case ABORT:
+            default:
+                throw new RejectedExecutionException("Concurrency limit reached for event handler: " + name);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package io.github.event.async;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import io.github.event.pool.PooledEvent;
+
+// Keeps only the latest pending event per key and hands it over once the window for that key has elapsed.
+// The window is timed by the publisher's ConflationScheduler, so pending keys are flushed when it shuts down.
+public class Conflater {
+
+    private final MethodHandle keyExtractor;
+    private final long windowMillis;
+    private final Map<Object, Pending> pending = new ConcurrentHashMap<>();
+    private final AtomicLong conflatedEvents = new AtomicLong();
+    private final AtomicLong failedDeliveries = new AtomicLong();
+
+    public Conflater(Class<?> eventType, String property, long windowMillis) {
+        if (windowMillis < 0) {
+            throw new IllegalArgumentException("Conflation window must not be negative: " + windowMillis);
+        }
+        this.keyExtractor = createKeyExtractor(eventType, property);
+        this.windowMillis = windowMillis;
+    }
+
+    private Conflater(MethodHandle keyExtractor, long windowMillis) {
+        this.keyExtractor = keyExtractor;
+        this.windowMillis = windowMillis;
+    }
+
+    // Same key and window with empty state and counters, without resolving the key accessor again
+    public Conflater copy() {
+        return new Conflater(keyExtractor, windowMillis);
+    }
+
+    public void offer(Object event, ConflationScheduler scheduler, Consumer<Object> delivery) {
+        Object key = keyOf(event);
+        if (key == null) {
+            delivery.accept(event);
+            return;
+        }
+        // Pooled events are held by the pending map until they are delivered or replaced
+        if (event instanceof PooledEvent) {
+            ((PooledEvent) event).retain();
+        }
+        Pending previous = pending.put(key, new Pending(event, delivery));
+        if (previous == null) {
+            scheduler.schedule(() -> flush(key), windowMillis);
+        } else {
+            conflatedEvents.incrementAndGet();
+            release(previous.event);
+        }
+    }
+
+    public long getConflatedEvents() {
+        return conflatedEvents.get();
+    }
+
+    // Deliveries whose handler threw; the publisher that offered the event has already returned by then
+    public long getFailedDeliveries() {
+        return failedDeliveries.get();
+    }
+
+    public int getPendingKeys() {
+        return pending.size();
+    }
+
+    private void flush(Object key) {
+        Pending latest = pending.remove(key);
+        if (latest == null) {
+            return;
+        }
+        try {
+            latest.delivery.accept(latest.event);
+        } catch (RuntimeException e) {
+            failedDeliveries.incrementAndGet();
+            Thread current = Thread.currentThread();
+            current.getUncaughtExceptionHandler().uncaughtException(current, e);
+        } finally {
+            release(latest.event);
+        }
+    }
+
+    private Object keyOf(Object event) {
+        try {
+            return keyExtractor.invokeExact(event);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new RuntimeException("Failed to extract conflation key: " + e.getMessage(), e);
+        }
+    }
+
+    private static void release(Object event) {
+        if (event instanceof PooledEvent) {
+            ((PooledEvent) event).release();
+        }
+    }
+
+    // Resolves the property as getX(), isX(), x() or a field named x, searching superclasses
+    private static MethodHandle createKeyExtractor(Class<?> eventType, String property) {
+        String capitalized = Character.toUpperCase(property.charAt(0)) + property.substring(1);
+        MethodType keyType = MethodType.methodType(Object.class, Object.class);
+        try {
+            for (String name : new String[] {"get" + capitalized, "is" + capitalized, property}) {
+                Method accessor = findAccessor(eventType, name);
+                if (accessor != null) {
+                    accessor.setAccessible(true);
+                    return MethodHandles.lookup().unreflect(accessor).asType(keyType);
+                }
+            }
+            for (Class<?> type = eventType; type != null; type = type.getSuperclass()) {
+                try {
+                    Field field = type.getDeclaredField(property);
+                    if (Modifier.isStatic(field.getModifiers())) {
+                        continue;
+                    }
+                    field.setAccessible(true);
+                    return MethodHandles.lookup().unreflectGetter(field).asType(keyType);
+                } catch (NoSuchFieldException ignored) {
+                    // keep looking in the superclass
+                }
+            }
+        } catch (IllegalAccessException e) {
+            throw new IllegalArgumentException("Cannot access conflation key '" + property + "' on " + eventType.getName(), e);
+        }
+        throw new IllegalArgumentException("No conflation key '" + property + "' on " + eventType.getName());
+    }
+
+    private static Method findAccessor(Class<?> eventType, String name) {
+        for (Class<?> type = eventType; type != null; type = type.getSuperclass()) {
+            try {
+                Method method = type.getDeclaredMethod(name);
+                if (method.getReturnType() != void.class && !Modifier.isStatic(method.getModifiers())) {
+                    return method;
+                }
+            } catch (NoSuchMethodException ignored) {
+                // keep looking in the superclass
+            }
+        }
+        return null;
+    }
+
+    private static class Pending {
+        private final Object event;
+        private final Consumer<Object> delivery;
+
+        private Pending(Object event, Consumer<Object> delivery) {
+            this.event = event;
+            this.delivery = delivery;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package io.github.event.async;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Runs the delayed flushes of conflated handlers for one publisher. Shutting it down delivers every pending
+// flush right away instead of dropping it; flushes scheduled afterwards run immediately on the caller.
+public class ConflationScheduler {
+
+    private final ScheduledExecutorService injectedExecutor;
+    private final Set<Flush> scheduled = ConcurrentHashMap.newKeySet();
+    // Created on first use so that publishers without conflated handlers never start a thread
+    private ScheduledThreadPoolExecutor ownedExecutor;
+    private volatile boolean shutdown;
+
+    public ConflationScheduler() {
+        this(null);
+    }
+
+    // An injected executor is shared with its owner and is not shut down here
+    public ConflationScheduler(ScheduledExecutorService executor) {
+        this.injectedExecutor = executor;
+    }
+
+    public void schedule(Runnable flush, long delayMillis) {
+        Flush task = new Flush(flush);
+        scheduled.add(task);
+        // Checked after registering the task so a concurrent shutdown either sees it or we see the flag
+        if (shutdown) {
+            task.run();
+            return;
+        }
+        try {
+            executor().schedule(task, delayMillis, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            task.run();
+        }
+    }
+
+    public void shutdown() {
+        shutdown = true;
+        for (Flush task : scheduled) {
+            task.run();
+        }
+        synchronized (this) {
+            if (ownedExecutor != null) {
+                ownedExecutor.shutdown();
+            }
+        }
+    }
+
+    private ScheduledExecutorService executor() {
+        if (injectedExecutor != null) {
+            return injectedExecutor;
+        }
+        synchronized (this) {
+            if (shutdown) {
+                throw new RejectedExecutionException("Conflation scheduler has been shut down");
+            }
+            if (ownedExecutor == null) {
+                ownedExecutor = new ScheduledThreadPoolExecutor(1, task -> {
+                    Thread thread = new Thread(task, "eventify-conflater");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+                // Shutdown has already delivered whatever was still waiting
+                ownedExecutor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+            }
+            return ownedExecutor;
+        }
+    }
+
+    // Runs at most once, whether the timer or shutdown gets to it first
+    private class Flush implements Runnable {
+        private final Runnable flush;
+        private final AtomicBoolean done = new AtomicBoolean();
+
+        private Flush(Runnable flush) {
+            this.flush = flush;
+        }
+
+        @Override
+        public void run() {
+            if (done.compareAndSet(false, true)) {
+                scheduled.remove(this);
+                flush.run();
+            }
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package io.github.event.async;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Tracks how long async tasks wait for an executor thread and sheds low-priority event types while that
+// wait exceeds the latency SLO. Waits in per-handler concurrency limit queues are not recorded.
+// Only a bounded AsyncExecutor queues tasks; with the default cached pool there is no wait and nothing is shed.
+public class LoadShedder {
+
+    // Without fresh samples the overload signal expires, so shedding every task cannot pin it on forever
+    private static final long OVERLOAD_HOLD_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final long latencySloNanos;
+    private final List<Class<?>> lowPriorityEventTypes;
+    private final Map<Class<?>, Boolean> lowPriorityCache = new ConcurrentHashMap<>();
+    private final AtomicLong averageQueueWaitNanos = new AtomicLong();
+    private volatile long lastSampleNanos = System.nanoTime() - OVERLOAD_HOLD_NANOS;
+
+    public LoadShedder(Duration latencySlo, Collection<Class<?>> lowPriorityEventTypes) {
+        this.latencySloNanos = latencySlo.toNanos();
+        this.lowPriorityEventTypes = new ArrayList<>(lowPriorityEventTypes);
+    }
+
+    // Exponentially weighted moving average with a weight of 1/8 for the newest sample
+    public void recordQueueWait(long waitNanos) {
+        long current;
+        long updated;
+        do {
+            current = averageQueueWaitNanos.get();
+            updated = current + ((waitNanos - current) >> 3);
+        } while (!averageQueueWaitNanos.compareAndSet(current, updated));
+        lastSampleNanos = System.nanoTime();
+    }
+
+    public boolean isOverloaded() {
+        return averageQueueWaitNanos.get() > latencySloNanos
+                && System.nanoTime() - lastSampleNanos < OVERLOAD_HOLD_NANOS;
+    }
+
+    public boolean shouldShed(Class<?> eventType) {
+        return isLowPriority(eventType) && isOverloaded();
+    }
+
+    public long getAverageQueueWaitNanos() {
+        return averageQueueWaitNanos.get();
+    }
+
+    private boolean isLowPriority(Class<?> eventType) {
+        Boolean cached = lowPriorityCache.get(eventType);
+        if (cached == null) {
+            cached = false;
+            for (Class<?> lowPriorityType : lowPriorityEventTypes) {
+                if (lowPriorityType.isAssignableFrom(eventType)) {
+                    cached = true;
+                    break;
+                }
+            }
+            lowPriorityCache.put(eventType, cached);
+        }
+        return cached;
+    }
+}
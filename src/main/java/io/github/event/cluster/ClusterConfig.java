@@ -0,0 +1,50 @@
+package io.github.event.cluster;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import lombok.Getter;
+
+// Static membership: every node is started with the same member list and its own id
+@Getter
+public class ClusterConfig {
+    private static final int DEFAULT_VIRTUAL_NODES = 128;
+
+    private final String localMemberId;
+    private final List<ClusterMember> members;
+    private final int virtualNodes;
+
+    public ClusterConfig(String localMemberId, List<ClusterMember> members) {
+        this(localMemberId, members, DEFAULT_VIRTUAL_NODES);
+    }
+
+    public ClusterConfig(String localMemberId, List<ClusterMember> members, int virtualNodes) {
+        if (virtualNodes <= 0) {
+            throw new IllegalArgumentException("virtualNodes must be positive: " + virtualNodes);
+        }
+        Set<String> ids = new HashSet<>();
+        for (ClusterMember member : members) {
+            if (!ids.add(member.getId())) {
+                throw new IllegalArgumentException("Duplicate cluster member id: " + member.getId());
+            }
+        }
+        if (!ids.contains(localMemberId)) {
+            throw new IllegalArgumentException("Local member is not part of the cluster: " + localMemberId);
+        }
+        this.localMemberId = localMemberId;
+        this.members = Collections.unmodifiableList(new ArrayList<>(members));
+        this.virtualNodes = virtualNodes;
+    }
+
+    public ClusterMember getLocalMember() {
+        for (ClusterMember member : members) {
+            if (member.getId().equals(localMemberId)) {
+                return member;
+            }
+        }
+        throw new IllegalStateException("Local member is not part of the cluster: " + localMemberId);
+    }
+}
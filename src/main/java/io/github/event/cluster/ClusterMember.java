@@ -0,0 +1,21 @@
+package io.github.event.cluster;
+
+import java.net.InetSocketAddress;
+
+import lombok.Getter;
+
+@Getter
+public class ClusterMember {
+    private final String id;
+    private final InetSocketAddress address;
+
+    public ClusterMember(String id, String host, int port) {
+        this.id = id;
+        this.address = new InetSocketAddress(host, port);
+    }
+
+    @Override
+    public String toString() {
+        return id + "@" + address.getHostString() + ":" + address.getPort();
+    }
+}
@@ -0,0 +1,42 @@
+package io.github.event.cluster;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+public class ConsistentHashRing {
+
+    private final TreeMap<Long, ClusterMember> ring = new TreeMap<>();
+
+    public ConsistentHashRing(List<ClusterMember> members, int virtualNodes) {
+        if (members.isEmpty()) {
+            throw new IllegalArgumentException("Cluster must have at least one member");
+        }
+        for (ClusterMember member : members) {
+            for (int i = 0; i < virtualNodes; i++) {
+                ring.put(hash(member.getId() + "#" + i), member);
+            }
+        }
+    }
+
+    public ClusterMember ownerOf(Object key) {
+        Map.Entry<Long, ClusterMember> entry = ring.ceilingEntry(hash(String.valueOf(key)));
+        return entry != null ? entry.getValue() : ring.firstEntry().getValue();
+    }
+
+    // FNV-1a over the UTF-8 bytes, finished with a 64-bit mixer to spread short keys
+    private static long hash(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,104 @@
+package io.github.event.cluster;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.Getter;
+
+// Frame layout: int bodyLength | short topicLength | topic | short typeLength | type | long deadlineMillis | JSON payload
+// A deadline of zero means none; it is sent as epoch millis since members do not share a nanoTime origin
+public class EventCodec {
+
+    public static final int HEADER_SIZE = Integer.BYTES;
+    private static final long NO_DEADLINE = 0;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    // Only registered event types may be instantiated from the wire
+    private final Map<String, Class<?>> eventTypes = new HashMap<>();
+
+    public EventCodec(Collection<Class<?>> eventTypes) {
+        for (Class<?> eventType : eventTypes) {
+            this.eventTypes.put(eventType.getName(), eventType);
+        }
+    }
+
+    public ByteBuffer encode(String topic, Object event) {
+        return encode(topic, event, null);
+    }
+
+    public ByteBuffer encode(String topic, Object event, Instant deadline) {
+        String typeName = event.getClass().getName();
+        if (!eventTypes.containsKey(typeName)) {
+            throw new IllegalArgumentException("Event type is not registered for cluster delivery: " + typeName);
+        }
+        byte[] topicBytes = topic != null ? topic.getBytes(StandardCharsets.UTF_8) : new byte[0];
+        if (topicBytes.length > 0xFFFF) {
+            throw new IllegalArgumentException("Topic is too long for cluster delivery: " + topic);
+        }
+        byte[] typeBytes = typeName.getBytes(StandardCharsets.UTF_8);
+        byte[] payload;
+        try {
+            payload = objectMapper.writeValueAsBytes(event);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Failed to encode event: " + typeName, e);
+        }
+        int bodyLength = Short.BYTES + topicBytes.length + Short.BYTES + typeBytes.length + Long.BYTES + payload.length;
+        ByteBuffer frame = ByteBuffer.allocate(HEADER_SIZE + bodyLength);
+        frame.putInt(bodyLength);
+        frame.putShort((short) topicBytes.length);
+        frame.put(topicBytes);
+        frame.putShort((short) typeBytes.length);
+        frame.put(typeBytes);
+        frame.putLong(deadline != null ? deadline.toEpochMilli() : NO_DEADLINE);
+        frame.put(payload);
+        frame.flip();
+        return frame;
+    }
+
+    // Decodes a frame body, i.e. everything after the length header
+    public DecodedEvent decode(ByteBuffer body) {
+        String topic = readString(body);
+        String typeName = readString(body);
+        Class<?> eventType = eventTypes.get(typeName);
+        if (eventType == null) {
+            throw new IllegalArgumentException("Received unregistered event type: " + typeName);
+        }
+        long deadlineMillis = body.getLong();
+        byte[] payload = new byte[body.remaining()];
+        body.get(payload);
+        try {
+            Object event = objectMapper.readValue(payload, eventType);
+            Instant deadline = deadlineMillis != NO_DEADLINE ? Instant.ofEpochMilli(deadlineMillis) : null;
+            return new DecodedEvent(topic.isEmpty() ? null : topic, event, deadline);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Failed to decode event: " + typeName, e);
+        }
+    }
+
+    private static String readString(ByteBuffer body) {
+        byte[] bytes = new byte[body.getShort() & 0xFFFF];
+        body.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @Getter
+    public static class DecodedEvent {
+        private final String topic;
+        private final Object event;
+        // Null when the event was published without a deadline
+        private final Instant deadline;
+
+        public DecodedEvent(String topic, Object event, Instant deadline) {
+            this.topic = topic;
+            this.event = event;
+            this.deadline = deadline;
+        }
+    }
+}
@@ -0,0 +1,388 @@
+package io.github.event.cluster;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+// Single-threaded selector loop. Outbound connections only send and inbound connections only receive,
+// so two peers never have to agree on which of their connections to keep. The frame handler runs on the
+// I/O thread and must hand frames off instead of processing them.
+// Delivery is at-most-once: there are no acknowledgements, so when a connection fails the batch being written
+// is dropped rather than resent, which could duplicate frames the peer already received. Dropped frames, and
+// frames still queued on close, are counted by getLostFrames(); frames the kernel accepted before the peer died
+// cannot be detected and are not counted.
+public class NioTransport implements Closeable {
+
+    private static final int MAX_FRAME_SIZE = 16 * 1024 * 1024;
+    private static final int BATCH_BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_QUEUED_FRAMES = 100_000;
+    private static final long RECONNECT_DELAY_MILLIS = 500;
+    private static final long SELECT_TIMEOUT_MILLIS = 100;
+
+    private final ClusterMember localMember;
+    private final Map<String, Peer> peers = new HashMap<>();
+    private final Consumer<ByteBuffer> frameHandler;
+    private final Queue<Peer> peersToFlush = new ConcurrentLinkedQueue<>();
+    private final AtomicLong lostFrames = new AtomicLong();
+    private Selector selector;
+    private ServerSocketChannel serverChannel;
+    private Thread ioThread;
+    private volatile boolean running;
+
+    public NioTransport(ClusterMember localMember, Collection<ClusterMember> remoteMembers, Consumer<ByteBuffer> frameHandler) {
+        this.localMember = localMember;
+        for (ClusterMember member : remoteMembers) {
+            peers.put(member.getId(), new Peer(member));
+        }
+        this.frameHandler = frameHandler;
+    }
+
+    public synchronized void start() throws IOException {
+        if (running) {
+            return;
+        }
+        selector = Selector.open();
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.configureBlocking(false);
+        // Lets a restarted node bind its port again while old connections are still in TIME_WAIT
+        serverChannel.setOption(StandardSocketOptions.SO_REUSEADDR, true);
+        serverChannel.bind(localMember.getAddress());
+        serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+        running = true;
+        ioThread = new Thread(this::runLoop, "eventify-nio-" + localMember.getId());
+        ioThread.setDaemon(true);
+        ioThread.start();
+    }
+
+    // Frames are batched per peer and written by the I/O thread; the selector is woken at most once per batch
+    public void send(ClusterMember member, ByteBuffer frame) {
+        Peer peer = peers.get(member.getId());
+        if (peer == null) {
+            throw new IllegalArgumentException("Unknown cluster member: " + member);
+        }
+        if (!running) {
+            throw new RejectedExecutionException("Transport is not running: " + localMember);
+        }
+        if (peer.queuedFrames.incrementAndGet() > MAX_QUEUED_FRAMES) {
+            peer.queuedFrames.decrementAndGet();
+            throw new RejectedExecutionException("Too many frames queued for cluster member: " + member);
+        }
+        peer.outbound.offer(frame);
+        if (peer.flushScheduled.compareAndSet(false, true)) {
+            peersToFlush.offer(peer);
+            selector.wakeup();
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (!running) {
+            return;
+        }
+        running = false;
+        selector.wakeup();
+        try {
+            ioThread.join(SELECT_TIMEOUT_MILLIS * 10);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (SelectionKey key : selector.keys()) {
+            key.channel().close();
+        }
+        selector.close();
+        for (Peer peer : peers.values()) {
+            lostFrames.addAndGet(peer.queuedFrames.get() + (peer.pendingWrite != null ? peer.pendingFrames : 0));
+        }
+    }
+
+    public long getLostFrames() {
+        return lostFrames.get();
+    }
+
+    private void runLoop() {
+        try {
+            while (running) {
+                connectPeers();
+                flushScheduledPeers();
+                selector.select(SELECT_TIMEOUT_MILLIS);
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    try {
+                        handleKey(key);
+                    } catch (IOException e) {
+                        // Only inbound connections are dropped; a failed accept leaves the server socket open
+                        if (key.attachment() instanceof InboundConnection) {
+                            key.cancel();
+                            closeQuietly(key);
+                        }
+                    }
+                }
+            }
+        } catch (IOException | ClosedSelectorException e) {
+            if (running) {
+                Thread current = Thread.currentThread();
+                current.getUncaughtExceptionHandler().uncaughtException(current, e);
+            }
+        }
+    }
+
+    private void handleKey(SelectionKey key) throws IOException {
+        if (!key.isValid()) {
+            return;
+        }
+        if (key.isAcceptable()) {
+            accept();
+        } else if (key.attachment() instanceof Peer) {
+            Peer peer = (Peer) key.attachment();
+            if (key.isConnectable()) {
+                finishConnect(peer);
+                return;
+            }
+            if (key.isReadable() && !checkAlive(peer)) {
+                return;
+            }
+            if (key.isValid() && key.isWritable()) {
+                flush(peer);
+            }
+        } else if (key.isReadable()) {
+            read(key);
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel = serverChannel.accept();
+        if (channel == null) {
+            return;
+        }
+        channel.configureBlocking(false);
+        channel.register(selector, SelectionKey.OP_READ, new InboundConnection());
+    }
+
+    private void connectPeers() {
+        long now = System.currentTimeMillis();
+        for (Peer peer : peers.values()) {
+            if (peer.channel != null || now < peer.nextConnectAttempt) {
+                continue;
+            }
+            try {
+                SocketChannel channel = SocketChannel.open();
+                channel.configureBlocking(false);
+                channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                peer.channel = channel;
+                if (channel.connect(peer.member.getAddress())) {
+                    peer.key = channel.register(selector, SelectionKey.OP_READ, peer);
+                    peer.connected = true;
+                    flush(peer);
+                } else {
+                    peer.key = channel.register(selector, SelectionKey.OP_CONNECT, peer);
+                }
+            } catch (IOException e) {
+                disconnect(peer);
+            }
+        }
+    }
+
+    private void finishConnect(Peer peer) {
+        try {
+            peer.channel.finishConnect();
+            peer.connected = true;
+            peer.key.interestOps(SelectionKey.OP_READ);
+            flush(peer);
+        } catch (IOException e) {
+            disconnect(peer);
+        }
+    }
+
+    private void flushScheduledPeers() {
+        Peer peer;
+        while ((peer = peersToFlush.poll()) != null) {
+            peer.flushScheduled.set(false);
+            if (peer.connected) {
+                flush(peer);
+            }
+        }
+    }
+
+    private void flush(Peer peer) {
+        try {
+            while (true) {
+                if (peer.pendingWrite == null) {
+                    peer.pendingWrite = peer.nextBatch();
+                    if (peer.pendingWrite == null) {
+                        peer.key.interestOps(SelectionKey.OP_READ);
+                        return;
+                    }
+                }
+                peer.channel.write(peer.pendingWrite);
+                if (peer.pendingWrite.hasRemaining()) {
+                    peer.key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+                    return;
+                }
+                peer.pendingWrite = null;
+            }
+        } catch (IOException e) {
+            // The batch in flight is counted as lost; frames still queued are sent after reconnecting
+            disconnect(peer);
+        }
+    }
+
+    // Peers never write on our outbound connections, so readability means EOF or a reset; reconnect right away
+    // instead of writing more batches into a dead socket
+    private boolean checkAlive(Peer peer) {
+        try {
+            peer.probeBuffer.clear();
+            if (peer.channel.read(peer.probeBuffer) >= 0) {
+                return true;
+            }
+        } catch (IOException ignored) {
+            // treated like EOF below
+        }
+        disconnect(peer);
+        return false;
+    }
+
+    private void closeQuietly(SelectionKey key) {
+        try {
+            key.channel().close();
+        } catch (IOException ignored) {
+            // already failing, nothing left to release
+        }
+    }
+
+    private void disconnect(Peer peer) {
+        if (peer.key != null) {
+            peer.key.cancel();
+        }
+        if (peer.channel != null) {
+            try {
+                peer.channel.close();
+            } catch (IOException ignored) {
+                // already failing, nothing left to release
+            }
+        }
+        peer.channel = null;
+        peer.key = null;
+        peer.connected = false;
+        if (peer.pendingWrite != null) {
+            lostFrames.addAndGet(peer.pendingFrames);
+            peer.pendingWrite = null;
+        }
+        peer.nextConnectAttempt = System.currentTimeMillis() + RECONNECT_DELAY_MILLIS;
+    }
+
+    private void read(SelectionKey key) throws IOException {
+        SocketChannel channel = (SocketChannel) key.channel();
+        InboundConnection connection = (InboundConnection) key.attachment();
+        if (channel.read(connection.buffer) < 0) {
+            throw new IOException("Connection closed by peer");
+        }
+        List<ByteBuffer> frames = connection.drainFrames();
+        if (frames == null) {
+            throw new IOException("Received a malformed frame");
+        }
+        for (ByteBuffer frame : frames) {
+            try {
+                frameHandler.accept(frame);
+            } catch (RuntimeException e) {
+                Thread current = Thread.currentThread();
+                current.getUncaughtExceptionHandler().uncaughtException(current, e);
+            }
+        }
+    }
+
+    private static class Peer {
+        private final ClusterMember member;
+        private final Queue<ByteBuffer> outbound = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger queuedFrames = new AtomicInteger();
+        private final AtomicBoolean flushScheduled = new AtomicBoolean();
+        private final ByteBuffer batchBuffer = ByteBuffer.allocateDirect(BATCH_BUFFER_SIZE);
+        private final ByteBuffer probeBuffer = ByteBuffer.allocate(64);
+        private SocketChannel channel;
+        private SelectionKey key;
+        private boolean connected;
+        private ByteBuffer pendingWrite;
+        // Number of frames in pendingWrite
+        private int pendingFrames;
+        private long nextConnectAttempt;
+
+        private Peer(ClusterMember member) {
+            this.member = member;
+        }
+
+        // Coalesces as many queued frames as fit into one write; oversized frames are written on their own
+        private ByteBuffer nextBatch() {
+            ByteBuffer head = outbound.peek();
+            if (head == null) {
+                return null;
+            }
+            if (head.remaining() > batchBuffer.capacity()) {
+                queuedFrames.decrementAndGet();
+                pendingFrames = 1;
+                return outbound.poll();
+            }
+            batchBuffer.clear();
+            pendingFrames = 0;
+            while ((head = outbound.peek()) != null && head.remaining() <= batchBuffer.remaining()) {
+                batchBuffer.put(outbound.poll());
+                queuedFrames.decrementAndGet();
+                pendingFrames++;
+            }
+            batchBuffer.flip();
+            return batchBuffer;
+        }
+    }
+
+    private static class InboundConnection {
+        private ByteBuffer buffer = ByteBuffer.allocate(BATCH_BUFFER_SIZE);
+
+        // Returns the complete frame bodies received so far, or null if the stream is corrupt
+        private List<ByteBuffer> drainFrames() {
+            List<ByteBuffer> frames = new ArrayList<>();
+            buffer.flip();
+            while (buffer.remaining() >= EventCodec.HEADER_SIZE) {
+                int length = buffer.getInt(buffer.position());
+                if (length < 0 || length > MAX_FRAME_SIZE) {
+                    return null;
+                }
+                if (buffer.remaining() < EventCodec.HEADER_SIZE + length) {
+                    break;
+                }
+                buffer.position(buffer.position() + EventCodec.HEADER_SIZE);
+                byte[] body = new byte[length];
+                buffer.get(body);
+                frames.add(ByteBuffer.wrap(body));
+            }
+            buffer.compact();
+            // Grow once a partially received frame cannot fit into the current buffer
+            if (buffer.position() >= EventCodec.HEADER_SIZE
+                    && EventCodec.HEADER_SIZE + buffer.getInt(0) > buffer.capacity()) {
+                ByteBuffer larger = ByteBuffer.allocate(EventCodec.HEADER_SIZE + buffer.getInt(0));
+                buffer.flip();
+                larger.put(buffer);
+                buffer = larger;
+            }
+            return frames;
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package io.github.event.cluster;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+import io.github.event.publisher.ApplicationEventPublisher;
+
+// Routes each event to the member owning its partition key; events without a key are handled locally
+// Remote delivery is at-most-once when a peer fails; see NioTransport
+public class PartitionedEventBus implements ApplicationEventPublisher, Closeable {
+
+    private final ClusterMember localMember;
+    private final ConsistentHashRing ring;
+    private final Function<Object, Object> partitionKeyExtractor;
+    private final ApplicationEventPublisher localPublisher;
+    private final EventCodec codec;
+    private final NioTransport transport;
+    private final Executor deliveryExecutor;
+    // Set when the bus created its own delivery thread and has to shut it down on close
+    private final ExecutorService ownedDeliveryExecutor;
+
+    public PartitionedEventBus(
+            ClusterConfig config,
+            ApplicationEventPublisher localPublisher,
+            Function<Object, Object> partitionKeyExtractor,
+            Collection<Class<?>> eventTypes
+    ) {
+        this(config, localPublisher, partitionKeyExtractor, eventTypes, null);
+    }
+
+    // Remote events are decoded and published on the delivery executor, never on the I/O thread
+    public PartitionedEventBus(
+            ClusterConfig config,
+            ApplicationEventPublisher localPublisher,
+            Function<Object, Object> partitionKeyExtractor,
+            Collection<Class<?>> eventTypes,
+            Executor deliveryExecutor
+    ) {
+        this.localMember = config.getLocalMember();
+        this.ring = new ConsistentHashRing(config.getMembers(), config.getVirtualNodes());
+        this.partitionKeyExtractor = partitionKeyExtractor;
+        this.localPublisher = localPublisher;
+        this.codec = new EventCodec(eventTypes);
+        List<ClusterMember> remoteMembers = new ArrayList<>();
+        for (ClusterMember member : config.getMembers()) {
+            if (member != localMember) {
+                remoteMembers.add(member);
+            }
+        }
+        this.transport = new NioTransport(localMember, remoteMembers, this::receive);
+        if (deliveryExecutor != null) {
+            this.deliveryExecutor = deliveryExecutor;
+            this.ownedDeliveryExecutor = null;
+        } else {
+            // A single thread keeps remote events in arrival order
+            this.ownedDeliveryExecutor = Executors.newSingleThreadExecutor(task -> {
+                Thread thread = new Thread(task, "eventify-delivery-" + localMember.getId());
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.deliveryExecutor = ownedDeliveryExecutor;
+        }
+    }
+
+    public void start() throws IOException {
+        transport.start();
+    }
+
+    @Override
+    public void close() throws IOException {
+        transport.close();
+        if (ownedDeliveryExecutor != null) {
+            ownedDeliveryExecutor.shutdown();
+        }
+    }
+
+    @Override
+    public void publish(Object event) {
+        route(null, event, null);
+    }
+
+    @Override
+    public void publish(String topic, Object event) {
+        route(topic, event, null);
+    }
+
+    // The deadline travels with the event, so the owning member skips handlers that would start too late
+    @Override
+    public void publish(Object event, Instant deadline) {
+        route(null, event, deadline);
+    }
+
+    @Override
+    public void publish(String topic, Object event, Instant deadline) {
+        route(topic, event, deadline);
+    }
+
+    // Flushes the local publisher's pending work; close() stops the transport
+    @Override
+    public void shutdown() {
+        localPublisher.shutdown();
+    }
+
+    // Remote events dropped because their connection failed or the bus closed before they were sent
+    public long getLostFrames() {
+        return transport.getLostFrames();
+    }
+
+    public ClusterMember ownerOf(Object event) {
+        Object key = partitionKeyExtractor.apply(event);
+        return key != null ? ring.ownerOf(key) : localMember;
+    }
+
+    private void route(String topic, Object event, Instant deadline) {
+        ClusterMember owner = ownerOf(event);
+        if (owner == localMember) {
+            publishLocally(topic, event, deadline);
+        } else {
+            transport.send(owner, codec.encode(topic, event, deadline));
+        }
+    }
+
+    // Called on the I/O thread, which only hands the frame over
+    private void receive(ByteBuffer frame) {
+        deliveryExecutor.execute(() -> deliver(frame));
+    }
+
+    private void deliver(ByteBuffer frame) {
+        try {
+            EventCodec.DecodedEvent decoded = codec.decode(frame);
+            publishLocally(decoded.getTopic(), decoded.getEvent(), decoded.getDeadline());
+        } catch (RuntimeException e) {
+            Thread current = Thread.currentThread();
+            current.getUncaughtExceptionHandler().uncaughtException(current, e);
+        }
+    }
+
+    private void publishLocally(String topic, Object event, Instant deadline) {
+        if (deadline != null) {
+            if (topic == null) {
+                localPublisher.publish(event, deadline);
+            } else {
+                localPublisher.publish(topic, event, deadline);
+            }
+        } else if (topic == null) {
+            localPublisher.publish(event);
+        } else {
+            localPublisher.publish(topic, event);
+        }
+    }
+}
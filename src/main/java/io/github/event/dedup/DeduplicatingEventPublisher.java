@@ -0,0 +1,118 @@
+package io.github.event.dedup;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import io.github.event.publisher.ApplicationEventPublisher;
+
+// Drops events whose id was already published successfully within the idempotency window, or is being published right
+// now by another thread; events without an id pass through. An id is only recorded once the delegate returns normally.
+public class DeduplicatingEventPublisher implements ApplicationEventPublisher {
+
+    private final ApplicationEventPublisher delegatePublisher;
+    private final Function<Object, Object> eventIdExtractor;
+    private final IdempotencyWindow window;
+    private final AtomicLong droppedEvents = new AtomicLong();
+
+    public DeduplicatingEventPublisher(
+            ApplicationEventPublisher delegatePublisher,
+            Function<Object, Object> eventIdExtractor,
+            IdempotencyWindow window
+    ) {
+        this.delegatePublisher = delegatePublisher;
+        this.eventIdExtractor = eventIdExtractor;
+        this.window = window;
+    }
+
+    @Override
+    public void publish(Object event) {
+        Object id = eventIdExtractor.apply(event);
+        if (!claim(id)) {
+            return;
+        }
+        try {
+            delegatePublisher.publish(event);
+        } catch (RuntimeException | Error e) {
+            release(id);
+            throw e;
+        }
+        record(id);
+    }
+
+    @Override
+    public void publish(String topic, Object event) {
+        Object id = eventIdExtractor.apply(event);
+        if (!claim(id)) {
+            return;
+        }
+        try {
+            delegatePublisher.publish(topic, event);
+        } catch (RuntimeException | Error e) {
+            release(id);
+            throw e;
+        }
+        record(id);
+    }
+
+    @Override
+    public void publish(Object event, Instant deadline) {
+        Object id = eventIdExtractor.apply(event);
+        if (!claim(id)) {
+            return;
+        }
+        try {
+            delegatePublisher.publish(event, deadline);
+        } catch (RuntimeException | Error e) {
+            release(id);
+            throw e;
+        }
+        record(id);
+    }
+
+    @Override
+    public void publish(String topic, Object event, Instant deadline) {
+        Object id = eventIdExtractor.apply(event);
+        if (!claim(id)) {
+            return;
+        }
+        try {
+            delegatePublisher.publish(topic, event, deadline);
+        } catch (RuntimeException | Error e) {
+            release(id);
+            throw e;
+        }
+        record(id);
+    }
+
+    @Override
+    public void shutdown() {
+        delegatePublisher.shutdown();
+    }
+
+    public long getDroppedEvents() {
+        return droppedEvents.get();
+    }
+
+    // Fails for ids recorded within the window and for ids whose first delivery is still running
+    private boolean claim(Object id) {
+        if (id == null || window.tryClaim(id)) {
+            return true;
+        }
+        droppedEvents.incrementAndGet();
+        return false;
+    }
+
+    // A failed delivery gives the id back, so a redelivery can retry it
+    private void release(Object id) {
+        if (id != null) {
+            window.release(id);
+        }
+    }
+
+    private void record(Object id) {
+        if (id != null) {
+            window.record(id);
+        }
+    }
+}
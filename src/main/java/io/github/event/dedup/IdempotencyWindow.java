@@ -0,0 +1,247 @@
+package io.github.event.dedup;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+// Remembers event ids for a sliding time window in bounded memory. The most recent ids are kept exactly with
+// their timestamps. Older ids are tracked by rotating Bloom filters, one per 1/7 of the window. A lookup may
+// consult every filter, so each is sized for an equal share of the false positive rate; as long as the expected
+// id count is respected, a new id is mistaken for a duplicate with at most the configured rate. Only filters
+// lying entirely inside the window are consulted, so an id older than the window is never reported, but an id
+// evicted from the exact cache is only guaranteed to be caught for 6/7 of the window.
+// The exact cache is split into independently locked stripes, and ids whose events are still being handled are
+// claimed, so a redelivery that arrives before the first copy finishes is rejected too.
+public class IdempotencyWindow {
+
+    private static final int BUCKETS = 8;
+    private static final int EXACT_CACHE_STRIPES = 16;
+    private static final double DEFAULT_FALSE_POSITIVE_RATE = 0.001;
+
+    private final long windowMillis;
+    private final long bucketMillis;
+    private final int hashFunctions;
+    private final Bucket[] buckets;
+    private final Stripe[] stripes;
+    private final Set<Object> inFlightIds = ConcurrentHashMap.newKeySet();
+    private final LongSupplier clock;
+    private final AtomicLong exactDuplicates = new AtomicLong();
+    private final AtomicLong probableDuplicates = new AtomicLong();
+    private final AtomicLong inFlightDuplicates = new AtomicLong();
+
+    public IdempotencyWindow(Duration window, int expectedIdsPerWindow, int exactCacheSize) {
+        this(window, expectedIdsPerWindow, exactCacheSize, DEFAULT_FALSE_POSITIVE_RATE, System::currentTimeMillis);
+    }
+
+    public IdempotencyWindow(Duration window, int expectedIdsPerWindow, int exactCacheSize, double falsePositiveRate) {
+        this(window, expectedIdsPerWindow, exactCacheSize, falsePositiveRate, System::currentTimeMillis);
+    }
+
+    IdempotencyWindow(Duration window, int expectedIdsPerWindow, int exactCacheSize, double falsePositiveRate,
+                      LongSupplier clock) {
+        if (window.toMillis() <= 0) {
+            throw new IllegalArgumentException("Window must be at least one millisecond: " + window);
+        }
+        if (expectedIdsPerWindow <= 0 || exactCacheSize <= 0) {
+            throw new IllegalArgumentException("Expected ids and exact cache size must be positive");
+        }
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("False positive rate must be between 0 and 1: " + falsePositiveRate);
+        }
+        this.windowMillis = window.toMillis();
+        // One extra bucket so the filters always span the full window while the oldest one ages out
+        this.bucketMillis = Math.max(1, (windowMillis + BUCKETS - 2) / (BUCKETS - 1));
+        int idsPerBucket = Math.max(1, expectedIdsPerWindow / (BUCKETS - 1));
+        // A lookup may consult every bucket, so each one gets a share of the overall false positive rate
+        double bucketFalsePositiveRate = falsePositiveRate / BUCKETS;
+        long bits = (long) Math.ceil(-idsPerBucket * Math.log(bucketFalsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int words = (int) Math.min(Integer.MAX_VALUE, Math.max(1, (bits + 63) / 64));
+        this.hashFunctions = Math.max(1, (int) Math.round((double) words * 64 / idsPerBucket * Math.log(2)));
+        this.buckets = new Bucket[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets[i] = new Bucket(words);
+        }
+        int stripeCount = Math.min(EXACT_CACHE_STRIPES, exactCacheSize);
+        int stripeCapacity = (exactCacheSize + stripeCount - 1) / stripeCount;
+        this.stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe(stripeCapacity);
+        }
+        this.clock = clock;
+    }
+
+    // Claims the id for one delivery. Returns false if it was recorded within the window or another delivery
+    // holds it; otherwise the caller must end the claim with record(id) on success or release(id) on failure.
+    public boolean tryClaim(Object id) {
+        if (!inFlightIds.add(id)) {
+            inFlightDuplicates.incrementAndGet();
+            return false;
+        }
+        // Checked after claiming, so a delivery that just finished has already recorded the id
+        if (isDuplicate(id)) {
+            inFlightIds.remove(id);
+            return false;
+        }
+        return true;
+    }
+
+    public void release(Object id) {
+        inFlightIds.remove(id);
+    }
+
+    // Reports whether the id was recorded within the window; does not record it
+    public boolean isDuplicate(Object id) {
+        long now = clock.getAsLong();
+        long hash = hash(id);
+        Long seenAt = stripeOf(hash).get(id);
+        if (seenAt != null && now - seenAt < windowMillis) {
+            exactDuplicates.incrementAndGet();
+            return true;
+        }
+        long epoch = now / bucketMillis;
+        for (Bucket bucket : buckets) {
+            if (isInsideWindow(bucket.epoch, epoch, now) && bucket.mightContain(hash, hashFunctions)) {
+                probableDuplicates.incrementAndGet();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Records the id, typically once its event has been handled successfully, and ends its claim if it had one
+    public void record(Object id) {
+        long now = clock.getAsLong();
+        long hash = hash(id);
+        stripeOf(hash).put(id, now);
+        currentBucket(now / bucketMillis).add(hash, hashFunctions);
+        inFlightIds.remove(id);
+    }
+
+    public long getExactDuplicates() {
+        return exactDuplicates.get();
+    }
+
+    public long getProbableDuplicates() {
+        return probableDuplicates.get();
+    }
+
+    public long getInFlightDuplicates() {
+        return inFlightDuplicates.get();
+    }
+
+    private Stripe stripeOf(long hash) {
+        return stripes[(int) ((hash >>> 40) % stripes.length)];
+    }
+
+    // A bucket whose span starts before the window could hold ids older than the window
+    private boolean isInsideWindow(long bucketEpoch, long currentEpoch, long now) {
+        return bucketEpoch >= 0 && bucketEpoch <= currentEpoch && now - bucketEpoch * bucketMillis < windowMillis;
+    }
+
+    private Bucket currentBucket(long epoch) {
+        Bucket bucket = buckets[(int) (epoch % BUCKETS)];
+        if (bucket.epoch != epoch) {
+            synchronized (bucket) {
+                if (bucket.epoch != epoch) {
+                    bucket.clear();
+                    bucket.epoch = epoch;
+                }
+            }
+        }
+        return bucket;
+    }
+
+    // String ids get a full 64-bit hash so that 32-bit hashCode collisions do not look like duplicates
+    private static long hash(Object id) {
+        long h;
+        if (id instanceof CharSequence) {
+            CharSequence chars = (CharSequence) id;
+            h = 0xcbf29ce484222325L;
+            for (int i = 0; i < chars.length(); i++) {
+                h ^= chars.charAt(i);
+                h *= 0x100000001b3L;
+            }
+        } else if (id instanceof Long) {
+            h = (Long) id;
+        } else {
+            h = id.hashCode();
+        }
+        h *= 0x9e3779b97f4a7c15L;
+        h ^= h >>> 32;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 29;
+        return h;
+    }
+
+    // Insertion-ordered, so lookups do not reorder entries and only contend with writers on the same stripe
+    private static class Stripe {
+        private final Map<Object, Long> recentIds;
+
+        private Stripe(int capacity) {
+            this.recentIds = new LinkedHashMap<Object, Long>() {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Object, Long> eldest) {
+                    return size() > capacity;
+                }
+            };
+        }
+
+        private synchronized Long get(Object id) {
+            return recentIds.get(id);
+        }
+
+        private synchronized void put(Object id, long seenAt) {
+            // Re-inserting moves a re-recorded id to the young end
+            recentIds.remove(id);
+            recentIds.put(id, seenAt);
+        }
+    }
+
+    private static class Bucket {
+        private final AtomicLongArray bits;
+        private volatile long epoch = -1;
+
+        private Bucket(int words) {
+            this.bits = new AtomicLongArray(words);
+        }
+
+        private void add(long hash, int hashFunctions) {
+            long bitCount = (long) bits.length() * 64;
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 0; i < hashFunctions; i++) {
+                long bit = Math.floorMod(h1 + (long) i * h2, bitCount);
+                int word = (int) (bit >>> 6);
+                long mask = 1L << bit;
+                long current = bits.get(word);
+                while ((current & mask) == 0 && !bits.compareAndSet(word, current, current | mask)) {
+                    current = bits.get(word);
+                }
+            }
+        }
+
+        private boolean mightContain(long hash, int hashFunctions) {
+            long bitCount = (long) bits.length() * 64;
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 0; i < hashFunctions; i++) {
+                long bit = Math.floorMod(h1 + (long) i * h2, bitCount);
+                if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void clear() {
+            for (int i = 0; i < bits.length(); i++) {
+                bits.set(i, 0);
+            }
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package io.github.event.pool;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.function.Supplier;
+
+public class EventPool<T extends PooledEvent> {
+
+    private final Supplier<T> factory;
+    private final ArrayBlockingQueue<T> free;
+
+    public EventPool(Supplier<T> factory, int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Pool capacity must be positive: " + capacity);
+        }
+        this.factory = factory;
+        this.free = new ArrayBlockingQueue<>(capacity);
+    }
+
+    public T acquire() {
+        T event = free.poll();
+        if (event == null) {
+            event = factory.get();
+        }
+        event.attach(this);
+        return event;
+    }
+
+    // Instances beyond the pool capacity are left to the garbage collector
+    @SuppressWarnings("unchecked")
+    void recycle(PooledEvent event) {
+        free.offer((T) event);
+    }
+
+    public int available() {
+        return free.size();
+    }
+}
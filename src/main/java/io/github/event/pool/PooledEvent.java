@@ -0,0 +1,47 @@
+package io.github.event.pool;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Instances created with new start with one reference owned by the creator, just like pooled ones,
+// so they can be retained by async handlers and transactions; their last release only resets them.
+public abstract class PooledEvent {
+
+    private final AtomicInteger refCount = new AtomicInteger(1);
+    private EventPool<?> pool;
+
+    // Called by the pool when the instance is handed out; the caller owns one reference
+    final void attach(EventPool<?> pool) {
+        this.pool = pool;
+        this.refCount.set(1);
+    }
+
+    public final void retain() {
+        int previous = refCount.getAndIncrement();
+        if (previous <= 0) {
+            refCount.getAndDecrement();
+            throw new IllegalStateException("Cannot retain a released event: " + getClass().getName());
+        }
+    }
+
+    public final void release() {
+        int remaining = refCount.decrementAndGet();
+        if (remaining == 0) {
+            reset();
+            EventPool<?> owner = pool;
+            pool = null;
+            if (owner != null) {
+                owner.recycle(this);
+            }
+        } else if (remaining < 0) {
+            refCount.incrementAndGet();
+            throw new IllegalStateException("Event released more times than retained: " + getClass().getName());
+        }
+    }
+
+    public final int refCount() {
+        return refCount.get();
+    }
+
+    // Clears the event state before it goes back to the pool
+    protected abstract void reset();
+}
@@ -1,5 +1,18 @@
 package io.github.event.publisher;
 
+import java.time.Instant;
+
 public interface ApplicationEventPublisher {
     void publish(Object event);
-} 
\ No newline at end of file
+
+    void publish(String topic, Object event);
+
+    // Handlers that have not started by the deadline are skipped
+    void publish(Object event, Instant deadline);
+
+    void publish(String topic, Object event, Instant deadline);
+
+    // Delivers work the publisher is still holding back, such as conflated events, and stops its background threads
+    default void shutdown() {
+    }
+}
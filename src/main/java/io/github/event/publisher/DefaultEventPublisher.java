@@ -1,23 +1,59 @@
 package io.github.event.publisher;
 
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
 
-import io.github.event.annotations.Async;
 import io.github.event.async.AsyncExecutor;
+import io.github.event.async.ConcurrencyLimiter;
+import io.github.event.async.ConflationScheduler;
+import io.github.event.async.Conflater;
+import io.github.event.async.LoadShedder;
+import io.github.event.pool.PooledEvent;
 import io.github.event.registry.EventRegistry;
 import io.github.event.registry.HandlerMethod;
 
 public class DefaultEventPublisher implements ApplicationEventPublisher {
 
+    private static final long NO_DEADLINE = Long.MAX_VALUE;
+    private static final Duration MAX_TRACKED_DEADLINE = Duration.ofDays(365);
+
     private final EventRegistry registry;
     private final AsyncExecutor asyncExecutor;
+    private final LoadShedder loadShedder;
+    // Async tasks go through this executor; with a load shedder it also measures how long they wait for a thread
+    private final Executor taskExecutor;
+    private final ConflationScheduler conflationScheduler;
+    // Pending conflated events belong to this publisher, so they are flushed by its own scheduler
+    private final Map<HandlerMethod, Conflater> conflaters = new ConcurrentHashMap<>();
+    private final AtomicLong expiredEvents = new AtomicLong();
+    private final AtomicLong shedEvents = new AtomicLong();
+    private final AtomicLong rejectedEvents = new AtomicLong();
 
-    // Constructor with AsyncExecutor
-    public DefaultEventPublisher(EventRegistry registry, AsyncExecutor asyncExecutor) {
+    // Constructor with AsyncExecutor, adaptive load shedding and a caller-owned executor for conflation windows
+    public DefaultEventPublisher(EventRegistry registry, AsyncExecutor asyncExecutor, LoadShedder loadShedder,
+                                 ScheduledExecutorService conflationExecutor) {
         this.registry = registry;
         this.asyncExecutor = asyncExecutor;
+        this.loadShedder = loadShedder;
+        this.taskExecutor = asyncExecutor != null && loadShedder != null ? this::submitMeasured : asyncExecutor;
+        this.conflationScheduler = new ConflationScheduler(conflationExecutor);
+    }
+
+    // Constructor with AsyncExecutor and adaptive load shedding
+    public DefaultEventPublisher(EventRegistry registry, AsyncExecutor asyncExecutor, LoadShedder loadShedder) {
+        this(registry, asyncExecutor, loadShedder, null);
+    }
+
+    // Constructor with AsyncExecutor
+    public DefaultEventPublisher(EventRegistry registry, AsyncExecutor asyncExecutor) {
+        this(registry, asyncExecutor, null);
     }
 
     // Constructor without AsyncExecutor, behaves synchronously
@@ -27,27 +63,168 @@ public class DefaultEventPublisher implements ApplicationEventPublisher {
 
     @Override
     public void publish(Object event) {
-        List<HandlerMethod> handlers = registry.getHandlersForEvent(event);
-        for (HandlerMethod handler : handlers) {
-            Method method = handler.getMethod();
-            method.setAccessible(true);
-            if (asyncExecutor != null && method.isAnnotationPresent(Async.class)) {
-                asyncExecutor.submit(() -> {
-                    try {
-                        method.invoke(handler.getInstance(), event);
-                    } catch (IllegalAccessException | InvocationTargetException e) {
-                        Throwable cause = (e instanceof InvocationTargetException && e.getCause() != null) ? e.getCause() : e;
-                        throw new RuntimeException("Failed to invoke async event handler: " + cause.getMessage(), e);
-                    }
-                });
+        dispatch(registry.getHandlersForEvent(event), event, NO_DEADLINE);
+    }
+
+    @Override
+    public void publish(String topic, Object event) {
+        dispatch(registry.getHandlersForTopic(topic, event), event, NO_DEADLINE);
+    }
+
+    @Override
+    public void publish(Object event, Instant deadline) {
+        dispatch(registry.getHandlersForEvent(event), event, toDeadlineNanos(deadline));
+    }
+
+    @Override
+    public void publish(String topic, Object event, Instant deadline) {
+        dispatch(registry.getHandlersForTopic(topic, event), event, toDeadlineNanos(deadline));
+    }
+
+    // Delivers pending conflated events now and stops the publisher's own conflation thread; the AsyncExecutor and
+    // an injected conflation executor are left running
+    @Override
+    public void shutdown() {
+        conflationScheduler.shutdown();
+    }
+
+    // This publisher's conflation state for the handler, or null if it is not conflated or has seen no event yet
+    public Conflater getConflater(HandlerMethod handler) {
+        return conflaters.get(handler);
+    }
+
+    public long getExpiredEvents() {
+        return expiredEvents.get();
+    }
+
+    public long getShedEvents() {
+        return shedEvents.get();
+    }
+
+    // Async deliveries refused by a full handler bulkhead or executor; the other handlers still got the event
+    public long getRejectedEvents() {
+        return rejectedEvents.get();
+    }
+
+    private void dispatch(List<HandlerMethod> handlers, Object event, long deadlineNanos) {
+        // Indexed loop keeps the synchronous path free of iterator allocation
+        for (int i = 0; i < handlers.size(); i++) {
+            HandlerMethod handler = handlers.get(i);
+            if (handler.isConflated()) {
+                Conflater conflater = conflaterFor(handler);
+                // Conflated handlers run later with the latest event for the key, on the conflation thread or the executor
+                conflater.offer(event, conflationScheduler, latest -> deliver(handler, latest, deadlineNanos));
             } else {
-                try {
-                    method.invoke(handler.getInstance(), event);
-                } catch (IllegalAccessException | InvocationTargetException e) {
-                    Throwable cause = (e instanceof InvocationTargetException && e.getCause() != null) ? e.getCause() : e;
-                    throw new RuntimeException("Failed to invoke event handler: " + cause.getMessage(), e);
+                deliver(handler, event, deadlineNanos);
+            }
+        }
+    }
+
+    private Conflater conflaterFor(HandlerMethod handler) {
+        Conflater conflater = conflaters.get(handler);
+        return conflater != null ? conflater : conflaters.computeIfAbsent(handler, HandlerMethod::newConflater);
+    }
+
+    private void deliver(HandlerMethod handler, Object event, long deadlineNanos) {
+        if (asyncExecutor != null && handler.isAsync()) {
+            submitAsync(handler, event, deadlineNanos);
+        } else if (deadlineNanos != NO_DEADLINE && isExpired(deadlineNanos, System.nanoTime())) {
+            expiredEvents.incrementAndGet();
+        } else {
+            try {
+                handler.invoke(event);
+            } catch (Throwable e) {
+                throw new RuntimeException("Failed to invoke event handler: " + e.getMessage(), e);
+            }
+        }
+    }
+
+    private void submitAsync(HandlerMethod handler, Object event, long deadlineNanos) {
+        if (loadShedder != null && loadShedder.shouldShed(event.getClass())) {
+            shedEvents.incrementAndGet();
+            return;
+        }
+        long submittedAt = System.nanoTime();
+        long taskDeadline = handler.getTimeToLiveNanos() > 0
+                ? Math.min(deadlineNanos, submittedAt + handler.getTimeToLiveNanos()) : deadlineNanos;
+        // Pooled events stay alive until every async handler has finished with them
+        PooledEvent pooled = event instanceof PooledEvent ? (PooledEvent) event : null;
+        if (pooled != null) {
+            pooled.retain();
+        }
+        Runnable task = () -> {
+            try {
+                if (shouldSkip(event, taskDeadline)) {
+                    return;
+                }
+                handler.invoke(event);
+            } catch (Throwable e) {
+                throw new RuntimeException("Failed to invoke async event handler: " + e.getMessage(), e);
+            } finally {
+                if (pooled != null) {
+                    pooled.release();
                 }
             }
+        };
+        try {
+            ConcurrencyLimiter limiter = handler.getConcurrencyLimiter();
+            if (limiter == null) {
+                taskExecutor.execute(task);
+            } else if (!limiter.execute(taskExecutor, task) && pooled != null) {
+                // Discarded by the handler's rejection policy
+                pooled.release();
+            }
+        } catch (RejectedExecutionException e) {
+            // One saturated handler must not keep the event from the handlers after it
+            rejectedEvents.incrementAndGet();
+            if (pooled != null) {
+                pooled.release();
+            }
+        } catch (RuntimeException e) {
+            if (pooled != null) {
+                pooled.release();
+            }
+            throw e;
+        }
+    }
+
+    // Only the wait for an executor thread signals global overload. Time spent in a handler's own concurrency
+    // limit queue is excluded, so one saturated bulkhead cannot make the publisher shed everyone's events.
+    private void submitMeasured(Runnable task) {
+        long submittedAt = System.nanoTime();
+        asyncExecutor.submit(() -> {
+            loadShedder.recordQueueWait(System.nanoTime() - submittedAt);
+            task.run();
+        });
+    }
+
+    // Checked when an async task starts, after it has waited in the executor or a handler queue
+    private boolean shouldSkip(Object event, long deadlineNanos) {
+        long startedAt = System.nanoTime();
+        if (isExpired(deadlineNanos, startedAt)) {
+            expiredEvents.incrementAndGet();
+            return true;
+        }
+        if (loadShedder != null && loadShedder.shouldShed(event.getClass())) {
+            shedEvents.incrementAndGet();
+            return true;
+        }
+        return false;
+    }
+
+    private static boolean isExpired(long deadlineNanos, long now) {
+        return deadlineNanos != NO_DEADLINE && now - deadlineNanos > 0;
+    }
+
+    private static long toDeadlineNanos(Instant deadline) {
+        Duration remaining = Duration.between(Instant.now(), deadline);
+        if (remaining.isNegative()) {
+            return System.nanoTime() - 1;
+        }
+        // Deadlines this far out cannot be represented on the nanoTime scale and never expire in practice
+        if (remaining.compareTo(MAX_TRACKED_DEADLINE) > 0) {
+            return NO_DEADLINE;
         }
+        return System.nanoTime() + remaining.toNanos();
     }
-} 
\ No newline at end of file
+}
@@ -1,6 +1,7 @@
 package io.github.event.publisher;
 
 import io.github.event.async.AsyncExecutor;
+import io.github.event.async.LoadShedder;
 import io.github.event.registry.EventRegistry;
 import jakarta.transaction.TransactionManager;
 
@@ -10,12 +11,22 @@ public class EventPublisherFactory {
             TransactionManager transactionManager,
             AsyncExecutor asyncExecutor
     ) {
+        return createEventPublisher(registry, transactionManager, asyncExecutor, null);
+    }
+
+    // The load shedder only applies to async handlers, so it is ignored without an AsyncExecutor
+    public static ApplicationEventPublisher createEventPublisher(
+            EventRegistry registry,
+            TransactionManager transactionManager,
+            AsyncExecutor asyncExecutor,
+            LoadShedder loadShedder
+    ) {
+        DefaultEventPublisher publisher = asyncExecutor != null
+                ? new DefaultEventPublisher(registry, asyncExecutor, loadShedder)
+                : new DefaultEventPublisher(registry);
         if (transactionManager != null) {
-            return new TransactionalEventPublisher(registry, transactionManager);
-        } else if (asyncExecutor != null) {
-            return new DefaultEventPublisher(registry, asyncExecutor);
-        } else {
-            return new DefaultEventPublisher(registry);
+            return new TransactionalEventPublisher(publisher, transactionManager);
         }
+        return publisher;
     }
 } 
@@ -1,8 +1,10 @@
 package io.github.event.publisher;
 
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 
+import io.github.event.pool.PooledEvent;
 import io.github.event.registry.EventRegistry;
 import io.github.event.transaction.DummyTransactionManager;
 import jakarta.transaction.TransactionManager;
@@ -11,38 +13,106 @@ public class TransactionalEventPublisher implements ApplicationEventPublisher {
 
     private final ApplicationEventPublisher delegatePublisher;
     private final TransactionManager transactionManager;
-    private final List<Object> delayedEvents = new ArrayList<>();
+    private final List<DelayedEvent> delayedEvents = new ArrayList<>();
     private boolean synchronizationRegistered = false;
 
     public TransactionalEventPublisher(EventRegistry registry, TransactionManager transactionManager) {
         // Use DefaultEventPublisher as the delegate.
-        this.delegatePublisher = new DefaultEventPublisher(registry);
+        this(new DefaultEventPublisher(registry), transactionManager);
+    }
+
+    public TransactionalEventPublisher(ApplicationEventPublisher delegatePublisher, TransactionManager transactionManager) {
+        this.delegatePublisher = delegatePublisher;
         this.transactionManager = transactionManager;
     }
 
     @Override
     public void publish(Object event) {
+        publish(null, event, null);
+    }
+
+    @Override
+    public void publish(String topic, Object event) {
+        publish(topic, event, null);
+    }
+
+    @Override
+    public void publish(Object event, Instant deadline) {
+        publish(null, event, deadline);
+    }
+
+    // The deadline keeps counting while the event waits for the commit
+    @Override
+    public void publish(String topic, Object event, Instant deadline) {
         // If a transaction is active, delay the event publishing
         if (transactionManager != null &&
             "ACTIVE".equals(((DummyTransactionManager)transactionManager).getState())) {
-            delayedEvents.add(event);
+            // Keep pooled events from being recycled while they wait for the commit
+            if (event instanceof PooledEvent) {
+                ((PooledEvent) event).retain();
+            }
+            delayedEvents.add(new DelayedEvent(topic, event, deadline));
             if (!synchronizationRegistered) {
                 ((DummyTransactionManager)transactionManager).registerSynchronization(() -> {
-                    flush();
-                    synchronizationRegistered = false;
+                    try {
+                        flush();
+                    } finally {
+                        synchronizationRegistered = false;
+                    }
                 });
                 synchronizationRegistered = true;
             }
         } else {
-            delegatePublisher.publish(event);
+            publishNow(topic, event, deadline);
         }
     }
 
+    // Events delayed by an open transaction stay delayed; only the delegate's pending work is delivered
+    @Override
+    public void shutdown() {
+        delegatePublisher.shutdown();
+    }
+
     // Flush delayed events, typically to be called upon transaction commit
     private void flush() {
-        for (Object event : delayedEvents) {
+        try {
+            for (DelayedEvent delayed : delayedEvents) {
+                publishNow(delayed.topic, delayed.event, delayed.deadline);
+            }
+        } finally {
+            // A failing handler must not leak the remaining pooled events or replay them on the next commit
+            for (DelayedEvent delayed : delayedEvents) {
+                if (delayed.event instanceof PooledEvent) {
+                    ((PooledEvent) delayed.event).release();
+                }
+            }
+            delayedEvents.clear();
+        }
+    }
+
+    private void publishNow(String topic, Object event, Instant deadline) {
+        if (deadline != null) {
+            if (topic == null) {
+                delegatePublisher.publish(event, deadline);
+            } else {
+                delegatePublisher.publish(topic, event, deadline);
+            }
+        } else if (topic == null) {
             delegatePublisher.publish(event);
+        } else {
+            delegatePublisher.publish(topic, event);
+        }
+    }
+
+    private static class DelayedEvent {
+        private final String topic;
+        private final Object event;
+        private final Instant deadline;
+
+        private DelayedEvent(String topic, Object event, Instant deadline) {
+            this.topic = topic;
+            this.event = event;
+            this.deadline = deadline;
         }
-        delayedEvents.clear();
     }
 } 
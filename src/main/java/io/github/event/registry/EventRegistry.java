@@ -2,32 +2,83 @@ package io.github.event.registry;
 
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import io.github.event.annotations.EventListener;
 import io.github.event.annotations.TransactionalEventListener;
 
 public class EventRegistry {
+    // Upper bound on cached topics, so publishing unbounded topic names cannot exhaust memory
+    private static final int MAX_CACHED_TOPICS = 10_000;
+
+    // Registration and cache misses hold the registry lock, so a lookup racing with register() cannot store a
+    // handler list built before the new handlers were added; cache hits stay lock-free
     private final List<HandlerMethod> handlerMethods = new ArrayList<>();
+    // Resolved handlers per event type, so publishing does not rescan or allocate
+    private final Map<Class<?>, List<HandlerMethod>> handlerCache = new ConcurrentHashMap<>();
+    private final TopicTrie topicSubscriptions = new TopicTrie();
+    // Resolved handlers per topic and event type
+    private final Map<String, Map<Class<?>, List<HandlerMethod>>> topicCache = new ConcurrentHashMap<>();
 
-    public void register(Object listener) {
+    public synchronized void register(Object listener) {
         // Scan all public methods of the listener
         Method[] methods = listener.getClass().getMethods();
         for (Method method : methods) {
-            if (method.isAnnotationPresent(EventListener.class) || method.isAnnotationPresent(TransactionalEventListener.class)) {
+            EventListener eventListener = method.getAnnotation(EventListener.class);
+            if (eventListener != null && !eventListener.topic().isEmpty()) {
+                topicSubscriptions.add(eventListener.topic(), new HandlerMethod(listener, method));
+            } else if (eventListener != null || method.isAnnotationPresent(TransactionalEventListener.class)) {
                 handlerMethods.add(new HandlerMethod(listener, method));
             }
         }
+        handlerCache.clear();
+        topicCache.clear();
     }
 
     public List<HandlerMethod> getHandlersForEvent(Object event) {
+        Class<?> eventType = event.getClass();
+        List<HandlerMethod> cached = handlerCache.get(eventType);
+        return cached != null ? cached : resolveHandlers(eventType);
+    }
+
+    public List<HandlerMethod> getHandlersForTopic(String topic, Object event) {
+        Map<Class<?>, List<HandlerMethod>> byType = topicCache.get(topic);
+        if (byType != null) {
+            List<HandlerMethod> cached = byType.get(event.getClass());
+            if (cached != null) {
+                return cached;
+            }
+        }
+        return resolveTopicHandlers(topic, event.getClass());
+    }
+
+    private synchronized List<HandlerMethod> resolveHandlers(Class<?> eventType) {
+        return handlerCache.computeIfAbsent(eventType, type -> filterByEventType(handlerMethods, type));
+    }
+
+    private synchronized List<HandlerMethod> resolveTopicHandlers(String topic, Class<?> eventType) {
+        Map<Class<?>, List<HandlerMethod>> byType = topicCache.get(topic);
+        if (byType == null) {
+            if (topicCache.size() >= MAX_CACHED_TOPICS) {
+                topicCache.clear();
+            }
+            byType = new ConcurrentHashMap<>();
+            topicCache.put(topic, byType);
+        }
+        return byType.computeIfAbsent(eventType, type -> filterByEventType(topicSubscriptions.match(topic), type));
+    }
+
+    private List<HandlerMethod> filterByEventType(List<HandlerMethod> candidates, Class<?> eventType) {
         List<HandlerMethod> matching = new ArrayList<>();
-        for (HandlerMethod hm : handlerMethods) {
+        for (HandlerMethod hm : candidates) {
             Class<?>[] params = hm.getMethod().getParameterTypes();
-            if (params.length > 0 && params[0].isAssignableFrom(event.getClass())) {
+            if (params.length > 0 && params[0].isAssignableFrom(eventType)) {
                 matching.add(hm);
             }
         }
-        return matching;
+        return Collections.unmodifiableList(matching);
     }
-} 
\ No newline at end of file
+}
@@ -1,17 +1,99 @@
 package io.github.event.registry;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.concurrent.TimeUnit;
+
+import io.github.event.annotations.Async;
+import io.github.event.annotations.EventListener;
+import io.github.event.async.ConcurrencyLimiter;
+import io.github.event.async.Conflater;
 
 @Getter
 public class HandlerMethod {
     private final Object instance;
     private final Method method;
+    private final boolean async;
+    // Present only for @Async handlers that declare maxConcurrency
+    private final ConcurrencyLimiter concurrencyLimiter;
+    // Zero when the handler does not declare a time to live
+    private final long timeToLiveNanos;
+    // Present only for @EventListener handlers that declare conflateBy. Registries are shared between
+    // publishers, so this only validates the key; every publisher conflates with its own copy.
+    @Getter(AccessLevel.NONE)
+    private final Conflater conflater;
+    @Getter(AccessLevel.NONE)
+    private final MethodHandle invoker;
 
     public HandlerMethod(Object instance, Method method) {
         this.instance = instance;
         this.method = method;
+        this.method.setAccessible(true);
+        Async asyncAnnotation = method.getAnnotation(Async.class);
+        this.async = asyncAnnotation != null;
+        this.concurrencyLimiter = createConcurrencyLimiter(method, asyncAnnotation);
+        this.timeToLiveNanos = async ? TimeUnit.MILLISECONDS.toNanos(asyncAnnotation.timeToLiveMillis()) : 0;
+        this.conflater = createConflater(method);
+        this.invoker = createInvoker(instance, method);
+    }
+
+    public boolean isConflated() {
+        return conflater != null;
+    }
+
+    public Conflater newConflater() {
+        return conflater != null ? conflater.copy() : null;
+    }
+
+    // Invokes the handler without the per-call argument array of Method.invoke
+    public void invoke(Object event) throws Throwable {
+        if (invoker != null) {
+            invoker.invokeExact(event);
+            return;
+        }
+        try {
+            method.invoke(instance, event);
+        } catch (InvocationTargetException e) {
+            throw e.getCause() != null ? e.getCause() : e;
+        }
+    }
+
+    private static ConcurrencyLimiter createConcurrencyLimiter(Method method, Async async) {
+        if (async == null || async.maxConcurrency() <= 0) {
+            return null;
+        }
+        String name = method.getDeclaringClass().getName() + "#" + method.getName();
+        return new ConcurrencyLimiter(name, async.maxConcurrency(), async.queueCapacity(), async.rejectionPolicy());
+    }
+
+    private static Conflater createConflater(Method method) {
+        EventListener eventListener = method.getAnnotation(EventListener.class);
+        if (eventListener == null || eventListener.conflateBy().isEmpty() || method.getParameterCount() == 0) {
+            return null;
+        }
+        return new Conflater(method.getParameterTypes()[0], eventListener.conflateBy(), eventListener.windowMillis());
+    }
+
+    private static MethodHandle createInvoker(Object instance, Method method) {
+        if (method.getParameterCount() != 1) {
+            return null;
+        }
+        try {
+            MethodHandle handle = MethodHandles.lookup().unreflect(method);
+            if (!Modifier.isStatic(method.getModifiers())) {
+                handle = handle.bindTo(instance);
+            }
+            return handle.asType(MethodType.methodType(void.class, Object.class));
+        } catch (IllegalAccessException e) {
+            return null;
+        }
     }
 
 }
@@ -0,0 +1,71 @@
+package io.github.event.registry;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class TopicTrie {
+
+    private static final String SINGLE_WILDCARD = "*";
+    private static final String MULTI_WILDCARD = "#";
+
+    private final Node root = new Node();
+
+    public void add(String pattern, HandlerMethod handler) {
+        Node node = root;
+        for (String segment : split(pattern, true)) {
+            node = node.children.computeIfAbsent(segment, key -> new Node());
+        }
+        node.handlers.add(handler);
+    }
+
+    public List<HandlerMethod> match(String topic) {
+        Set<HandlerMethod> matched = new LinkedHashSet<>();
+        collect(root, split(topic, false), 0, matched);
+        return matched.isEmpty() ? Collections.emptyList() : new ArrayList<>(matched);
+    }
+
+    private void collect(Node node, String[] segments, int index, Set<HandlerMethod> matched) {
+        Node multi = node.children.get(MULTI_WILDCARD);
+        if (multi != null) {
+            // '#' may absorb any number of the remaining segments, including none
+            for (int next = index; next <= segments.length; next++) {
+                collect(multi, segments, next, matched);
+            }
+        }
+        if (index == segments.length) {
+            matched.addAll(node.handlers);
+            return;
+        }
+        Node literal = node.children.get(segments[index]);
+        if (literal != null) {
+            collect(literal, segments, index + 1, matched);
+        }
+        Node single = node.children.get(SINGLE_WILDCARD);
+        if (single != null) {
+            collect(single, segments, index + 1, matched);
+        }
+    }
+
+    private static String[] split(String topic, boolean allowWildcards) {
+        String[] segments = topic.split("\\.", -1);
+        for (String segment : segments) {
+            if (segment.isEmpty()) {
+                throw new IllegalArgumentException("Topic must not contain empty segments: " + topic);
+            }
+            if (!allowWildcards && (SINGLE_WILDCARD.equals(segment) || MULTI_WILDCARD.equals(segment))) {
+                throw new IllegalArgumentException("Published topic must not contain wildcards: " + topic);
+            }
+        }
+        return segments;
+    }
+
+    private static class Node {
+        private final Map<String, Node> children = new HashMap<>();
+        private final List<HandlerMethod> handlers = new ArrayList<>();
+    }
+}
@@ -0,0 +1,113 @@
+package io.github.event.async;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.event.annotations.RejectionPolicy;
+
+public class ConcurrencyLimiterTest {
+
+    @Test
+    public void limitsConcurrentExecutionsAndRunsQueuedTasks() throws InterruptedException {
+        AsyncExecutor executor = new AsyncExecutor();
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter("test", 2, 100, RejectionPolicy.ABORT);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(20);
+
+        for (int i = 0; i < 20; i++) {
+            limiter.execute(executor, () -> {
+                int now = running.incrementAndGet();
+                maxRunning.accumulateAndGet(now, Math::max);
+                sleep(5);
+                running.decrementAndGet();
+                done.countDown();
+            });
+        }
+
+        assertThat(done.await(5, TimeUnit.SECONDS))
+            .as("All queued tasks should eventually run")
+            .isTrue();
+        assertThat(maxRunning.get())
+            .as("No more than maxConcurrency tasks should run at once")
+            .isLessThanOrEqualTo(2);
+
+        executor.shutdown();
+    }
+
+    @Test
+    public void abortPolicyRejectsWhenQueueIsFull() throws InterruptedException {
+        AsyncExecutor executor = new AsyncExecutor();
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter("test", 1, 1, RejectionPolicy.ABORT);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(2);
+        Runnable blocking = () -> {
+            await(release);
+            done.countDown();
+        };
+
+        limiter.execute(executor, blocking);
+        limiter.execute(executor, blocking);
+
+        assertThatThrownBy(() -> limiter.execute(executor, blocking))
+            .isInstanceOf(RejectedExecutionException.class);
+        assertThat(limiter.getRejectedCount()).isEqualTo(1L);
+
+        release.countDown();
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+
+        executor.shutdown();
+    }
+
+    @Test
+    public void discardAndCallerRunsPolicies() {
+        AsyncExecutor executor = new AsyncExecutor();
+        CountDownLatch release = new CountDownLatch(1);
+        Runnable blocking = () -> await(release);
+
+        ConcurrencyLimiter discarding = new ConcurrencyLimiter("discard", 1, 0, RejectionPolicy.DISCARD);
+        discarding.execute(executor, blocking);
+        assertThat(discarding.execute(executor, blocking))
+            .as("Excess task should be discarded")
+            .isFalse();
+
+        ConcurrencyLimiter callerRuns = new ConcurrencyLimiter("caller", 1, 0, RejectionPolicy.CALLER_RUNS);
+        callerRuns.execute(executor, blocking);
+        Thread caller = Thread.currentThread();
+        AtomicInteger ranOnCaller = new AtomicInteger();
+        callerRuns.execute(executor, () -> {
+            if (Thread.currentThread() == caller) {
+                ranOnCaller.incrementAndGet();
+            }
+        });
+        assertThat(ranOnCaller.get())
+            .as("Excess task should run on the publishing thread")
+            .isEqualTo(1);
+
+        release.countDown();
+        executor.shutdown();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
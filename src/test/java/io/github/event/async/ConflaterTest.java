@@ -0,0 +1,155 @@
+package io.github.event.async;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import io.github.event.pool.EventPool;
+import io.github.event.pool.PooledEvent;
+
+public class ConflaterTest {
+
+    static class ProgressEvent {
+        private final String taskId;
+        final int percent;
+
+        ProgressEvent(String taskId, int percent) {
+            this.taskId = taskId;
+            this.percent = percent;
+        }
+
+        public String getTaskId() {
+            return taskId;
+        }
+    }
+
+    static class PriceEvent extends PooledEvent {
+        String symbol;
+
+        @Override
+        protected void reset() {
+            symbol = null;
+        }
+    }
+
+    private final ConflationScheduler scheduler = new ConflationScheduler();
+
+    @AfterEach
+    public void shutdownScheduler() {
+        scheduler.shutdown();
+    }
+
+    @Test
+    public void onlyLatestEventPerKeyIsDelivered() throws InterruptedException {
+        Conflater conflater = new Conflater(ProgressEvent.class, "taskId", 500);
+        List<Object> delivered = new CopyOnWriteArrayList<>();
+
+        for (int percent = 1; percent <= 100; percent++) {
+            conflater.offer(new ProgressEvent("a", percent), scheduler, delivered::add);
+            conflater.offer(new ProgressEvent("b", percent), scheduler, delivered::add);
+        }
+        waitForDeliveries(delivered, 2);
+
+        assertThat(delivered).hasSize(2);
+        for (Object event : delivered) {
+            assertThat(((ProgressEvent) event).percent)
+                .as("Handler should only see the latest update for each key")
+                .isEqualTo(100);
+        }
+        assertThat(conflater.getConflatedEvents()).isEqualTo(198L);
+        assertThat(conflater.getPendingKeys()).isEqualTo(0);
+    }
+
+    @Test
+    public void fieldKeysAndPooledEventsAreSupported() throws InterruptedException {
+        Conflater conflater = new Conflater(PriceEvent.class, "symbol", 500);
+        AtomicInteger created = new AtomicInteger();
+        EventPool<PriceEvent> pool = new EventPool<>(() -> {
+            created.incrementAndGet();
+            return new PriceEvent();
+        }, 8);
+        List<Object> delivered = new CopyOnWriteArrayList<>();
+
+        for (int i = 0; i < 3; i++) {
+            PriceEvent event = pool.acquire();
+            event.symbol = "ACME";
+            conflater.offer(event, scheduler, delivered::add);
+            event.release();
+        }
+        waitForDeliveries(delivered, 1);
+        long deadline = System.currentTimeMillis() + 5000;
+        while (pool.available() < created.get() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertThat(delivered).hasSize(1);
+        assertThat(pool.available())
+            .as("Replaced and delivered events should all be recycled")
+            .isEqualTo(created.get());
+    }
+
+    @Test
+    public void shutdownFlushesPendingKeys() {
+        Conflater conflater = new Conflater(ProgressEvent.class, "taskId", 60_000);
+        List<Object> delivered = new CopyOnWriteArrayList<>();
+
+        conflater.offer(new ProgressEvent("a", 1), scheduler, delivered::add);
+        conflater.offer(new ProgressEvent("a", 2), scheduler, delivered::add);
+        conflater.offer(new ProgressEvent("b", 1), scheduler, delivered::add);
+        assertThat(delivered).isEmpty();
+
+        scheduler.shutdown();
+        assertThat(delivered)
+            .as("Pending keys should be delivered on shutdown instead of waiting out the window")
+            .hasSize(2);
+        assertThat(conflater.getPendingKeys()).isEqualTo(0);
+
+        conflater.offer(new ProgressEvent("c", 1), scheduler, delivered::add);
+        assertThat(delivered)
+            .as("Events offered after shutdown should be delivered immediately")
+            .hasSize(3);
+    }
+
+    @Test
+    public void failedDeliveriesAreCountedAndReported() {
+        Conflater conflater = new Conflater(ProgressEvent.class, "taskId", 60_000);
+        List<Throwable> reported = new CopyOnWriteArrayList<>();
+        Thread current = Thread.currentThread();
+        Thread.UncaughtExceptionHandler previous = current.getUncaughtExceptionHandler();
+        current.setUncaughtExceptionHandler((thread, e) -> reported.add(e));
+        try {
+            conflater.offer(new ProgressEvent("a", 1), scheduler, event -> {
+                throw new IllegalStateException("handler failed");
+            });
+            // Shutdown flushes on this thread, so the failure reaches the handler installed above
+            scheduler.shutdown();
+        } finally {
+            current.setUncaughtExceptionHandler(previous);
+        }
+
+        assertThat(conflater.getFailedDeliveries()).isEqualTo(1L);
+        assertThat(reported).hasSize(1);
+        assertThat(conflater.getPendingKeys()).isEqualTo(0);
+    }
+
+    @Test
+    public void unknownKeyPropertyIsRejected() {
+        assertThatThrownBy(() -> new Conflater(ProgressEvent.class, "missing", 10))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static void waitForDeliveries(List<Object> delivered, int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (delivered.size() < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        // Give a wrongly scheduled extra delivery the chance to show up
+        Thread.sleep(100);
+    }
+}
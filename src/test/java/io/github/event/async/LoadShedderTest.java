@@ -0,0 +1,55 @@
+package io.github.event.async;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+public class LoadShedderTest {
+
+    static class MetricsEvent { }
+
+    static class DetailedMetricsEvent extends MetricsEvent { }
+
+    static class OrderEvent { }
+
+    @Test
+    public void shedsLowPriorityTypesWhileQueueWaitExceedsSlo() {
+        LoadShedder shedder = new LoadShedder(Duration.ofMillis(10), Collections.singletonList(MetricsEvent.class));
+
+        assertThat(shedder.shouldShed(MetricsEvent.class))
+            .as("Nothing should be shed before any wait was observed")
+            .isFalse();
+
+        for (int i = 0; i < 50; i++) {
+            shedder.recordQueueWait(TimeUnit.MILLISECONDS.toNanos(100));
+        }
+
+        assertThat(shedder.isOverloaded()).isTrue();
+        assertThat(shedder.shouldShed(MetricsEvent.class)).isTrue();
+        assertThat(shedder.shouldShed(DetailedMetricsEvent.class))
+            .as("Subtypes of low-priority events should be shed as well")
+            .isTrue();
+        assertThat(shedder.shouldShed(OrderEvent.class))
+            .as("Other event types should never be shed")
+            .isFalse();
+    }
+
+    @Test
+    public void recoversOnceQueueWaitDrops() {
+        LoadShedder shedder = new LoadShedder(Duration.ofMillis(10), Collections.singletonList(MetricsEvent.class));
+
+        for (int i = 0; i < 50; i++) {
+            shedder.recordQueueWait(TimeUnit.MILLISECONDS.toNanos(100));
+        }
+        for (int i = 0; i < 100; i++) {
+            shedder.recordQueueWait(TimeUnit.MICROSECONDS.toNanos(100));
+        }
+
+        assertThat(shedder.isOverloaded()).isFalse();
+        assertThat(shedder.shouldShed(MetricsEvent.class)).isFalse();
+    }
+}
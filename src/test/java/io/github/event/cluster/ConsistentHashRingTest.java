@@ -0,0 +1,47 @@
+package io.github.event.cluster;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+public class ConsistentHashRingTest {
+
+    private static final List<ClusterMember> MEMBERS = Arrays.asList(
+        new ClusterMember("a", "localhost", 9001),
+        new ClusterMember("b", "localhost", 9002),
+        new ClusterMember("c", "localhost", 9003)
+    );
+
+    @Test
+    public void ownerIsDeterministicAcrossRings() {
+        ConsistentHashRing first = new ConsistentHashRing(MEMBERS, 128);
+        ConsistentHashRing second = new ConsistentHashRing(MEMBERS, 128);
+
+        for (int i = 0; i < 1000; i++) {
+            assertThat(first.ownerOf("order-" + i).getId())
+                .as("Every node must agree on the owner of a key")
+                .isEqualTo(second.ownerOf("order-" + i).getId());
+        }
+    }
+
+    @Test
+    public void keysAreSpreadOverAllMembers() {
+        ConsistentHashRing ring = new ConsistentHashRing(MEMBERS, 128);
+        Map<String, Integer> owned = new HashMap<>();
+
+        for (int i = 0; i < 3000; i++) {
+            owned.merge(ring.ownerOf("order-" + i).getId(), 1, Integer::sum);
+        }
+
+        for (ClusterMember member : MEMBERS) {
+            assertThat(owned.getOrDefault(member.getId(), 0))
+                .as("Member %s should own a fair share of keys", member.getId())
+                .isGreaterThan(500);
+        }
+    }
+}
@@ -0,0 +1,285 @@
+package io.github.event.cluster;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.event.annotations.EventListener;
+import io.github.event.publisher.DefaultEventPublisher;
+import io.github.event.registry.EventRegistry;
+
+public class PartitionedEventBusTest {
+
+    public static class OrderEvent {
+        public String orderId;
+        public long amount;
+
+        public OrderEvent() {
+        }
+
+        public OrderEvent(String orderId, long amount) {
+            this.orderId = orderId;
+            this.amount = amount;
+        }
+    }
+
+    public static class OrderListener {
+        final String memberId;
+        final Map<String, String> handledBy;
+        final AtomicInteger handled;
+
+        OrderListener(String memberId, Map<String, String> handledBy, AtomicInteger handled) {
+            this.memberId = memberId;
+            this.handledBy = handledBy;
+            this.handled = handled;
+        }
+
+        @EventListener
+        public void onOrder(OrderEvent event) {
+            handledBy.merge(event.orderId, memberId, (first, second) -> first + "," + second);
+            handled.incrementAndGet();
+        }
+    }
+
+    public static class BlockingOrderListener {
+        final CountDownLatch slowStarted = new CountDownLatch(1);
+        final CountDownLatch releaseSlow = new CountDownLatch(1);
+        final List<String> handled = new CopyOnWriteArrayList<>();
+
+        @EventListener
+        public void onOrder(OrderEvent event) throws InterruptedException {
+            if (event.orderId.startsWith("slow")) {
+                slowStarted.countDown();
+                releaseSlow.await(10, TimeUnit.SECONDS);
+            }
+            handled.add(event.orderId);
+        }
+    }
+
+    @Test
+    public void codecRoundTripsRegisteredTypes() {
+        EventCodec codec = new EventCodec(Collections.singletonList(OrderEvent.class));
+
+        ByteBuffer frame = codec.encode("orders.created", new OrderEvent("o-1", 42));
+        int length = frame.getInt();
+        assertThat(length).isEqualTo(frame.remaining());
+
+        EventCodec.DecodedEvent decoded = codec.decode(frame);
+        assertThat(decoded.getTopic()).isEqualTo("orders.created");
+        assertThat(((OrderEvent) decoded.getEvent()).orderId).isEqualTo("o-1");
+        assertThat(((OrderEvent) decoded.getEvent()).amount).isEqualTo(42L);
+        assertThat(decoded.getDeadline()).isNull();
+
+        Instant deadline = Instant.ofEpochMilli(1_700_000_000_000L);
+        ByteBuffer withDeadline = codec.encode(null, new OrderEvent("o-2", 7), deadline);
+        withDeadline.getInt();
+        assertThat(codec.decode(withDeadline).getDeadline())
+            .as("Deadline should travel with the event to its owner")
+            .isEqualTo(deadline);
+
+        assertThatThrownBy(() -> codec.encode(null, "not registered"))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void eventsAreHandledOnceByTheirOwner() throws Exception {
+        int nodeCount = 3;
+        List<ClusterMember> members = new ArrayList<>();
+        for (int i = 0; i < nodeCount; i++) {
+            members.add(new ClusterMember("node-" + i, "localhost", freePort()));
+        }
+
+        Map<String, String> handledBy = new ConcurrentHashMap<>();
+        AtomicInteger handled = new AtomicInteger();
+        List<PartitionedEventBus> buses = new ArrayList<>();
+        for (ClusterMember member : members) {
+            EventRegistry registry = new EventRegistry();
+            registry.register(new OrderListener(member.getId(), handledBy, handled));
+            PartitionedEventBus bus = new PartitionedEventBus(
+                new ClusterConfig(member.getId(), members),
+                new DefaultEventPublisher(registry),
+                event -> ((OrderEvent) event).orderId,
+                Collections.singletonList(OrderEvent.class)
+            );
+            bus.start();
+            buses.add(bus);
+        }
+
+        try {
+            int eventCount = 300;
+            for (int i = 0; i < eventCount; i++) {
+                // Publish from every node to exercise all connections
+                buses.get(i % nodeCount).publish(new OrderEvent("order-" + i, i));
+            }
+
+            long deadline = System.currentTimeMillis() + 10_000;
+            while (handled.get() < eventCount && System.currentTimeMillis() < deadline) {
+                Thread.sleep(20);
+            }
+
+            assertThat(handled.get())
+                .as("Every event should be handled exactly once across the cluster")
+                .isEqualTo(eventCount);
+            assertThat(handledBy).hasSize(eventCount);
+            for (int i = 0; i < eventCount; i++) {
+                OrderEvent probe = new OrderEvent("order-" + i, i);
+                assertThat(handledBy.get(probe.orderId))
+                    .as("Event should be handled by the member owning its key")
+                    .isEqualTo(buses.get(0).ownerOf(probe).getId());
+            }
+        } finally {
+            for (PartitionedEventBus bus : buses) {
+                bus.close();
+            }
+        }
+    }
+
+    @Test
+    public void slowHandlerDoesNotStallTheTransport() throws Exception {
+        List<ClusterMember> members = Arrays.asList(
+            new ClusterMember("node-a", "localhost", freePort()),
+            new ClusterMember("node-b", "localhost", freePort())
+        );
+        BlockingOrderListener listenerA = new BlockingOrderListener();
+        BlockingOrderListener listenerB = new BlockingOrderListener();
+        PartitionedEventBus busA = startBus("node-a", members, listenerA);
+        PartitionedEventBus busB = startBus("node-b", members, listenerB);
+
+        try {
+            String slowKey = keyOwnedBy(busA, "slow", "node-b");
+            String fastKey = keyOwnedBy(busA, "fast", "node-a");
+
+            busA.publish(new OrderEvent(slowKey, 1));
+            assertThat(listenerB.slowStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+            // node-b is busy in a handler, yet its transport still sends to node-a
+            busB.publish(new OrderEvent(fastKey, 2));
+            long deadline = System.currentTimeMillis() + 5000;
+            while (listenerA.handled.isEmpty() && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertThat(listenerA.handled).containsExactly(fastKey);
+
+            listenerB.releaseSlow.countDown();
+        } finally {
+            listenerB.releaseSlow.countDown();
+            busA.close();
+            busB.close();
+        }
+    }
+
+    @Test
+    public void framesQueuedWhilePeerIsDownAreDeliveredAfterRestart() throws Exception {
+        List<ClusterMember> members = Arrays.asList(
+            new ClusterMember("node-a", "localhost", freePort()),
+            new ClusterMember("node-b", "localhost", freePort())
+        );
+        PartitionedEventBus busA = startBus("node-a", members, new BlockingOrderListener());
+        BlockingOrderListener firstB = new BlockingOrderListener();
+        PartitionedEventBus busB = startBus("node-b", members, firstB);
+        PartitionedEventBus restartedB = null;
+
+        try {
+            String before = keyOwnedBy(busA, "before", "node-b");
+            busA.publish(new OrderEvent(before, 1));
+            waitFor(firstB.handled, 1);
+            assertThat(firstB.handled).containsExactly(before);
+
+            busB.close();
+            // Give node-a time to notice the closed connection
+            Thread.sleep(200);
+
+            List<String> queued = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                String key = keyOwnedBy(busA, "queued" + i, "node-b");
+                queued.add(key);
+                busA.publish(new OrderEvent(key, i));
+            }
+
+            BlockingOrderListener secondB = new BlockingOrderListener();
+            restartedB = startBus("node-b", members, secondB);
+            waitFor(secondB.handled, queued.size());
+
+            assertThat(secondB.handled)
+                .as("Frames queued while the peer was down should arrive after it restarts")
+                .containsExactlyInAnyOrder(queued.toArray());
+            assertThat(busA.getLostFrames()).isEqualTo(0L);
+        } finally {
+            busA.close();
+            busB.close();
+            if (restartedB != null) {
+                restartedB.close();
+            }
+        }
+    }
+
+    @Test
+    public void framesNeverSentAreCountedAsLost() throws Exception {
+        List<ClusterMember> members = Arrays.asList(
+            new ClusterMember("node-a", "localhost", freePort()),
+            new ClusterMember("node-b", "localhost", freePort())
+        );
+        // node-b never starts, so frames for it stay queued until node-a closes
+        PartitionedEventBus busA = startBus("node-a", members, new BlockingOrderListener());
+        for (int i = 0; i < 5; i++) {
+            busA.publish(new OrderEvent(keyOwnedBy(busA, "unsent" + i, "node-b"), i));
+        }
+        busA.close();
+
+        assertThat(busA.getLostFrames())
+            .as("Frames dropped by the transport should be reported, not silently discarded")
+            .isEqualTo(5L);
+    }
+
+    private static void waitFor(List<String> handled, int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (handled.size() < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private static PartitionedEventBus startBus(String memberId, List<ClusterMember> members, Object listener)
+            throws IOException {
+        EventRegistry registry = new EventRegistry();
+        registry.register(listener);
+        PartitionedEventBus bus = new PartitionedEventBus(
+            new ClusterConfig(memberId, members),
+            new DefaultEventPublisher(registry),
+            event -> ((OrderEvent) event).orderId,
+            Collections.singletonList(OrderEvent.class)
+        );
+        bus.start();
+        return bus;
+    }
+
+    private static String keyOwnedBy(PartitionedEventBus bus, String prefix, String memberId) {
+        for (int i = 0; ; i++) {
+            String key = prefix + "-" + i;
+            if (bus.ownerOf(new OrderEvent(key, 0)).getId().equals(memberId)) {
+                return key;
+            }
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package io.github.event.dedup;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import lombok.Getter;
+import org.junit.jupiter.api.Test;
+
+import io.github.event.annotations.EventListener;
+import io.github.event.publisher.ApplicationEventPublisher;
+import io.github.event.publisher.DefaultEventPublisher;
+import io.github.event.registry.EventRegistry;
+
+public class DeduplicatingEventPublisherTest {
+
+    static class PaymentEvent {
+        final String id;
+
+        PaymentEvent(String id) {
+            this.id = id;
+        }
+    }
+
+    @Getter
+    static class DummyListener {
+        private int invocations = 0;
+
+        @EventListener
+        public void handleEvent(PaymentEvent event) {
+            invocations++;
+        }
+    }
+
+    @Test
+    public void duplicateEventsAreDroppedBeforeHandlers() {
+        EventRegistry registry = new EventRegistry();
+        DummyListener listener = new DummyListener();
+        registry.register(listener);
+
+        DeduplicatingEventPublisher publisher = new DeduplicatingEventPublisher(
+            new DefaultEventPublisher(registry),
+            event -> event instanceof PaymentEvent ? ((PaymentEvent) event).id : null,
+            new IdempotencyWindow(Duration.ofMinutes(5), 10_000, 1_000)
+        );
+        publish(publisher, "p-1");
+        publish(publisher, "p-2");
+        publish(publisher, "p-1");
+
+        assertThat(listener.getInvocations())
+            .as("Redelivered event should not reach the handler")
+            .isEqualTo(2);
+        assertThat(publisher.getDroppedEvents()).isEqualTo(1L);
+    }
+
+    static class FlakyListener {
+        int attempts = 0;
+
+        @EventListener
+        public void handleEvent(PaymentEvent event) {
+            attempts++;
+            if (attempts == 1) {
+                throw new IllegalStateException("database unavailable");
+            }
+        }
+    }
+
+    @Test
+    public void failedDeliveryCanBeRedelivered() {
+        EventRegistry registry = new EventRegistry();
+        FlakyListener listener = new FlakyListener();
+        registry.register(listener);
+
+        DeduplicatingEventPublisher publisher = new DeduplicatingEventPublisher(
+            new DefaultEventPublisher(registry),
+            event -> ((PaymentEvent) event).id,
+            new IdempotencyWindow(Duration.ofMinutes(5), 10_000, 1_000)
+        );
+
+        assertThatThrownBy(() -> publish(publisher, "p-1"))
+            .isInstanceOf(RuntimeException.class);
+        publish(publisher, "p-1");
+        publish(publisher, "p-1");
+
+        assertThat(listener.attempts)
+            .as("The redelivery after a failure should reach the handler, later ones should not")
+            .isEqualTo(2);
+        assertThat(publisher.getDroppedEvents()).isEqualTo(1L);
+    }
+
+    static class SlowListener {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger invocations = new AtomicInteger();
+
+        @EventListener
+        public void handleEvent(PaymentEvent event) throws InterruptedException {
+            invocations.incrementAndGet();
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void redeliveryDuringSlowHandlerIsDropped() throws InterruptedException {
+        EventRegistry registry = new EventRegistry();
+        SlowListener listener = new SlowListener();
+        registry.register(listener);
+
+        DeduplicatingEventPublisher publisher = new DeduplicatingEventPublisher(
+            new DefaultEventPublisher(registry),
+            event -> ((PaymentEvent) event).id,
+            new IdempotencyWindow(Duration.ofMinutes(5), 10_000, 1_000)
+        );
+
+        Thread first = new Thread(() -> publish(publisher, "p-1"));
+        first.start();
+        assertThat(listener.started.await(5, TimeUnit.SECONDS)).isTrue();
+        // The broker redelivers while the first copy is still being handled
+        publish(publisher, "p-1");
+        listener.release.countDown();
+        first.join();
+
+        assertThat(listener.invocations.get())
+            .as("A duplicate arriving mid-delivery should not reach the handler")
+            .isEqualTo(1);
+        assertThat(publisher.getDroppedEvents()).isEqualTo(1L);
+    }
+
+    private static void publish(ApplicationEventPublisher publisher, String id) {
+        publisher.publish(new PaymentEvent(id));
+    }
+}
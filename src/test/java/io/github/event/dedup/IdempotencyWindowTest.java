@@ -0,0 +1,140 @@
+package io.github.event.dedup;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+public class IdempotencyWindowTest {
+
+    @Test
+    public void recordedIdIsDuplicateWithinWindow() {
+        AtomicLong now = new AtomicLong(1_000);
+        IdempotencyWindow window = new IdempotencyWindow(Duration.ofSeconds(10), 1_000, 100, 0.001, now::get);
+
+        assertThat(window.isDuplicate("evt-1")).isFalse();
+        assertThat(window.isDuplicate("evt-1"))
+            .as("Checking an id must not record it")
+            .isFalse();
+
+        window.record("evt-1");
+        window.record("evt-2");
+        assertThat(window.isDuplicate("evt-1")).isTrue();
+        assertThat(window.getExactDuplicates()).isEqualTo(1L);
+    }
+
+    @Test
+    public void claimedIdIsRejectedUntilRecordedOrReleased() {
+        AtomicLong now = new AtomicLong(1_000);
+        IdempotencyWindow window = new IdempotencyWindow(Duration.ofSeconds(10), 1_000, 100, 0.001, now::get);
+
+        assertThat(window.tryClaim("evt-1")).isTrue();
+        assertThat(window.tryClaim("evt-1"))
+            .as("A second delivery must not start while the first is still in flight")
+            .isFalse();
+        assertThat(window.getInFlightDuplicates()).isEqualTo(1L);
+
+        window.release("evt-1");
+        assertThat(window.tryClaim("evt-1"))
+            .as("A released id can be retried")
+            .isTrue();
+
+        window.record("evt-1");
+        assertThat(window.tryClaim("evt-1")).isFalse();
+        assertThat(window.getExactDuplicates()).isEqualTo(1L);
+    }
+
+    @Test
+    public void idsEvictedFromExactCacheAreCaughtByBloomFilter() {
+        AtomicLong now = new AtomicLong(1_000);
+        IdempotencyWindow window = new IdempotencyWindow(Duration.ofSeconds(10), 10_000, 10, 0.001, now::get);
+
+        for (int i = 0; i < 1_000; i++) {
+            window.record("evt-" + i);
+        }
+
+        assertThat(window.isDuplicate("evt-0"))
+            .as("Old id should still be detected after leaving the exact cache")
+            .isTrue();
+        assertThat(window.getProbableDuplicates()).isEqualTo(1L);
+    }
+
+    @Test
+    public void idsExpireAfterWindow() {
+        AtomicLong now = new AtomicLong(1_000);
+        IdempotencyWindow window = new IdempotencyWindow(Duration.ofSeconds(10), 1_000, 100, 0.001, now::get);
+
+        window.record("evt-1");
+        now.addAndGet(Duration.ofSeconds(30).toMillis());
+
+        assertThat(window.isDuplicate("evt-1"))
+            .as("Id should be forgotten once the window has passed")
+            .isFalse();
+    }
+
+    @Test
+    public void falsePositiveRateStaysBounded() {
+        AtomicLong now = new AtomicLong(1_000);
+        IdempotencyWindow window = new IdempotencyWindow(Duration.ofSeconds(10), 60_000, 100, 0.01, now::get);
+
+        for (int i = 0; i < 10_000; i++) {
+            window.record("seen-" + i);
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (window.isDuplicate("fresh-" + i)) {
+                falsePositives++;
+            }
+        }
+
+        assertThat(falsePositives)
+            .as("Unseen ids should rarely be reported as duplicates")
+            .isLessThan(300);
+    }
+
+    @Test
+    public void bloomFilterDoesNotReportIdsPastWindow() {
+        AtomicLong now = new AtomicLong(1_000);
+        IdempotencyWindow window = new IdempotencyWindow(Duration.ofSeconds(10), 1_000, 10, 0.001, now::get);
+
+        window.record("evt-0");
+        for (int i = 1; i <= 20; i++) {
+            window.record("evt-" + i);
+        }
+        now.addAndGet(5_000);
+        assertThat(window.isDuplicate("evt-0"))
+            .as("Evicted id should be caught by the Bloom filter halfway through the window")
+            .isTrue();
+
+        now.addAndGet(6_000);
+        assertThat(window.isDuplicate("evt-0"))
+            .as("Id recorded 1.1 windows ago should no longer be reported")
+            .isFalse();
+    }
+
+    @Test
+    public void falsePositiveRateStaysBoundedAcrossBuckets() {
+        AtomicLong now = new AtomicLong(1_000);
+        IdempotencyWindow window = new IdempotencyWindow(Duration.ofSeconds(10), 70_000, 100, 0.01, now::get);
+
+        // Spread the expected number of ids evenly over the window so that every bucket is full
+        for (int i = 0; i < 70_000; i++) {
+            window.record("seen-" + i);
+            if (i % 7 == 6) {
+                now.incrementAndGet();
+            }
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (window.isDuplicate("fresh-" + i)) {
+                falsePositives++;
+            }
+        }
+
+        assertThat(falsePositives)
+            .as("Checking every bucket should not multiply the configured false positive rate")
+            .isLessThan(200);
+    }
+}
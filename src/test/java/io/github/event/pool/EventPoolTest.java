@@ -0,0 +1,97 @@
+package io.github.event.pool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+
+public class EventPoolTest {
+
+    static class PriceEvent extends PooledEvent {
+        long price;
+
+        @Override
+        protected void reset() {
+            price = 0;
+        }
+    }
+
+    @Test
+    public void releasedEventIsResetAndReused() {
+        EventPool<PriceEvent> pool = new EventPool<>(PriceEvent::new, 4);
+
+        PriceEvent first = pool.acquire();
+        first.price = 42;
+        first.release();
+
+        assertThat(pool.available())
+            .as("Released event should go back to the pool")
+            .isEqualTo(1);
+
+        PriceEvent second = pool.acquire();
+        assertThat(second)
+            .as("Pool should hand out the recycled instance")
+            .isSameAs(first);
+        assertThat(second.price)
+            .as("Recycled event should have been reset")
+            .isEqualTo(0L);
+        assertThat(second.refCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void eventIsRecycledOnlyAfterLastRelease() {
+        EventPool<PriceEvent> pool = new EventPool<>(PriceEvent::new, 4);
+
+        PriceEvent event = pool.acquire();
+        event.retain();
+        event.release();
+
+        assertThat(pool.available())
+            .as("Event with outstanding references must not be recycled")
+            .isEqualTo(0);
+
+        event.release();
+        assertThat(pool.available()).isEqualTo(1);
+    }
+
+    @Test
+    public void releasingTooOftenFails() {
+        EventPool<PriceEvent> pool = new EventPool<>(PriceEvent::new, 4);
+
+        PriceEvent event = pool.acquire();
+        event.release();
+
+        assertThatThrownBy(event::release)
+            .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(event::retain)
+            .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    public void eventsBeyondCapacityAreDropped() {
+        EventPool<PriceEvent> pool = new EventPool<>(PriceEvent::new, 1);
+
+        PriceEvent first = pool.acquire();
+        PriceEvent second = pool.acquire();
+        first.release();
+        second.release();
+
+        assertThat(pool.available()).isEqualTo(1);
+    }
+
+    @Test
+    public void eventCreatedOutsidePoolCanBeRetained() {
+        PriceEvent event = new PriceEvent();
+        event.price = 5;
+
+        event.retain();
+        event.release();
+        assertThat(event.price)
+            .as("Event should keep its state while references remain")
+            .isEqualTo(5L);
+
+        event.release();
+        assertThat(event.refCount()).isEqualTo(0);
+        assertThat(event.price).isEqualTo(0L);
+    }
+}
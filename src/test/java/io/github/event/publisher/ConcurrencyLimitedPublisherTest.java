@@ -0,0 +1,122 @@
+package io.github.event.publisher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.event.annotations.Async;
+import io.github.event.annotations.EventListener;
+import io.github.event.async.AsyncExecutor;
+import io.github.event.registry.EventRegistry;
+
+public class ConcurrencyLimitedPublisherTest {
+
+    static class SlowEvent { }
+
+    static class FastEvent { }
+
+    static class SlowListener {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(5);
+
+        @EventListener
+        @Async(maxConcurrency = 1)
+        public void onSlowEvent(SlowEvent event) throws InterruptedException {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            release.await(5, TimeUnit.SECONDS);
+            running.decrementAndGet();
+            done.countDown();
+        }
+    }
+
+    static class FastListener {
+        CountDownLatch latch = new CountDownLatch(1);
+
+        @EventListener
+        @Async
+        public void onFastEvent(FastEvent event) {
+            latch.countDown();
+        }
+    }
+
+    static class FullListener {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        @EventListener
+        @Async(maxConcurrency = 1, queueCapacity = 0)
+        public void onSlowEvent(SlowEvent event) throws InterruptedException {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+        }
+    }
+
+    static class PlainListener {
+        AtomicInteger invocations = new AtomicInteger();
+
+        @EventListener
+        public void onSlowEvent(SlowEvent event) {
+            invocations.incrementAndGet();
+        }
+    }
+
+    @Test
+    public void slowHandlerIsLimitedWithoutBlockingOthers() throws InterruptedException {
+        EventRegistry registry = new EventRegistry();
+        SlowListener slow = new SlowListener();
+        FastListener fast = new FastListener();
+        registry.register(slow);
+        registry.register(fast);
+
+        AsyncExecutor asyncExecutor = new AsyncExecutor();
+        ApplicationEventPublisher publisher = new DefaultEventPublisher(registry, asyncExecutor);
+
+        for (int i = 0; i < 5; i++) {
+            publisher.publish(new SlowEvent());
+        }
+        publisher.publish(new FastEvent());
+
+        assertThat(fast.latch.await(5, TimeUnit.SECONDS))
+            .as("Other handlers should run while the slow handler is saturated")
+            .isTrue();
+
+        slow.release.countDown();
+        assertThat(slow.done.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(slow.maxRunning.get())
+            .as("Slow handler should never exceed its maxConcurrency")
+            .isEqualTo(1);
+
+        asyncExecutor.shutdown();
+    }
+
+    @Test
+    public void rejectedHandlerDoesNotStopDispatchToOthers() throws InterruptedException {
+        EventRegistry registry = new EventRegistry();
+        FullListener full = new FullListener();
+        PlainListener plain = new PlainListener();
+        registry.register(full);
+        registry.register(plain);
+
+        AsyncExecutor asyncExecutor = new AsyncExecutor();
+        DefaultEventPublisher publisher = new DefaultEventPublisher(registry, asyncExecutor);
+
+        publisher.publish(new SlowEvent());
+        assertThat(full.started.await(5, TimeUnit.SECONDS)).isTrue();
+        // The bulkhead is full and has no queue, so the ABORT policy rejects this delivery
+        publisher.publish(new SlowEvent());
+
+        assertThat(plain.invocations.get())
+            .as("Handlers after the rejected one should still receive the event")
+            .isEqualTo(2);
+        assertThat(publisher.getRejectedEvents()).isEqualTo(1L);
+
+        full.release.countDown();
+        asyncExecutor.shutdown();
+    }
+}
@@ -0,0 +1,152 @@
+package io.github.event.publisher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.event.annotations.Async;
+import io.github.event.annotations.EventListener;
+import io.github.event.async.AsyncExecutor;
+import io.github.event.registry.EventRegistry;
+import io.github.event.transaction.DummyTransactionManager;
+
+public class ConflatingEventPublisherTest {
+
+    static class PriceUpdated {
+        final String symbol;
+        final long price;
+
+        PriceUpdated(String symbol, long price) {
+            this.symbol = symbol;
+            this.price = price;
+        }
+    }
+
+    // Windows are far longer than the publish loop, so each key gets exactly one delivery even on a slow machine
+    static class PriceListener {
+        AtomicInteger conflatedInvocations = new AtomicInteger();
+        Map<String, Long> latestPrices = new ConcurrentHashMap<>();
+        AtomicInteger asyncInvocations = new AtomicInteger();
+        AtomicInteger plainInvocations = new AtomicInteger();
+
+        @EventListener(conflateBy = "symbol", windowMillis = 500)
+        public void onPrice(PriceUpdated event) {
+            conflatedInvocations.incrementAndGet();
+            latestPrices.put(event.symbol, event.price);
+        }
+
+        @EventListener(conflateBy = "symbol", windowMillis = 500)
+        @Async
+        public void onPriceAsync(PriceUpdated event) {
+            asyncInvocations.incrementAndGet();
+        }
+
+        @EventListener
+        public void onEveryPrice(PriceUpdated event) {
+            plainInvocations.incrementAndGet();
+        }
+    }
+
+    static class SlowWindowListener {
+        Map<String, Long> latestPrices = new ConcurrentHashMap<>();
+
+        @EventListener(conflateBy = "symbol", windowMillis = 60_000)
+        public void onPrice(PriceUpdated event) {
+            latestPrices.put(event.symbol, event.price);
+        }
+    }
+
+    @Test
+    public void handlerInvocationsScaleWithDistinctKeys() throws InterruptedException {
+        EventRegistry registry = new EventRegistry();
+        PriceListener listener = new PriceListener();
+        registry.register(listener);
+
+        AsyncExecutor asyncExecutor = new AsyncExecutor();
+        ApplicationEventPublisher publisher = new DefaultEventPublisher(registry, asyncExecutor);
+
+        String[] symbols = {"ACME", "INIT", "GLOBEX"};
+        for (long price = 1; price <= 1000; price++) {
+            publisher.publish(new PriceUpdated(symbols[(int) (price % symbols.length)], price));
+        }
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while ((listener.conflatedInvocations.get() < 3 || listener.asyncInvocations.get() < 3)
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        Thread.sleep(100);
+
+        assertThat(listener.plainInvocations.get())
+            .as("Regular listeners still see every update")
+            .isEqualTo(1000);
+        assertThat(listener.conflatedInvocations.get()).isEqualTo(3);
+        assertThat(listener.asyncInvocations.get()).isEqualTo(3);
+        assertThat(listener.latestPrices)
+            .containsEntry("ACME", 999L)
+            .containsEntry("INIT", 1000L)
+            .containsEntry("GLOBEX", 998L);
+
+        asyncExecutor.shutdown();
+    }
+
+    @Test
+    public void shutdownDeliversPendingConflatedEvents() {
+        EventRegistry registry = new EventRegistry();
+        SlowWindowListener listener = new SlowWindowListener();
+        registry.register(listener);
+
+        DefaultEventPublisher publisher = new DefaultEventPublisher(registry);
+        publisher.publish(new PriceUpdated("ACME", 1));
+        publisher.publish(new PriceUpdated("ACME", 2));
+        assertThat(listener.latestPrices).isEmpty();
+
+        publisher.shutdown();
+        assertThat(listener.latestPrices)
+            .as("Shutdown should deliver the latest pending event without waiting for the window")
+            .containsEntry("ACME", 2L)
+            .hasSize(1);
+    }
+
+    @Test
+    public void publishersSharingARegistryConflateIndependently() {
+        EventRegistry registry = new EventRegistry();
+        SlowWindowListener listener = new SlowWindowListener();
+        registry.register(listener);
+
+        DefaultEventPublisher first = new DefaultEventPublisher(registry);
+        DefaultEventPublisher second = new DefaultEventPublisher(registry);
+        first.publish(new PriceUpdated("ACME", 1));
+        second.publish(new PriceUpdated("ACME", 2));
+
+        first.shutdown();
+        assertThat(listener.latestPrices)
+            .as("Shutting down one publisher should flush only its own pending keys")
+            .containsEntry("ACME", 1L);
+
+        second.shutdown();
+        assertThat(listener.latestPrices).containsEntry("ACME", 2L);
+    }
+
+    @Test
+    public void factoryPublisherShutdownFlushesPendingConflatedEvents() throws Exception {
+        EventRegistry registry = new EventRegistry();
+        SlowWindowListener listener = new SlowWindowListener();
+        registry.register(listener);
+
+        ApplicationEventPublisher publisher =
+                EventPublisherFactory.createEventPublisher(registry, new DummyTransactionManager(), null);
+        publisher.publish(new PriceUpdated("ACME", 1));
+        publisher.publish(new PriceUpdated("ACME", 2));
+        assertThat(listener.latestPrices).isEmpty();
+
+        publisher.shutdown();
+        assertThat(listener.latestPrices)
+            .as("The transactional wrapper should pass shutdown on to the publisher holding the window")
+            .containsEntry("ACME", 2L);
+    }
+}
@@ -0,0 +1,266 @@
+package io.github.event.publisher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.event.annotations.Async;
+import io.github.event.annotations.EventListener;
+import io.github.event.async.AsyncExecutor;
+import io.github.event.async.LoadShedder;
+import io.github.event.dedup.DeduplicatingEventPublisher;
+import io.github.event.dedup.IdempotencyWindow;
+import io.github.event.registry.EventRegistry;
+import io.github.event.transaction.DummyTransactionManager;
+
+public class DeadlineEventPublisherTest {
+
+    static class QuoteEvent { }
+
+    static class MetricsEvent { }
+
+    static class SyncListener {
+        AtomicInteger invocations = new AtomicInteger();
+
+        @EventListener
+        public void onQuote(QuoteEvent event) {
+            invocations.incrementAndGet();
+        }
+    }
+
+    static class ShortLivedListener {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        AtomicInteger invocations = new AtomicInteger();
+
+        @EventListener
+        @Async(maxConcurrency = 1, timeToLiveMillis = 50)
+        public void onQuote(QuoteEvent event) throws InterruptedException {
+            invocations.incrementAndGet();
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+        }
+    }
+
+    static class MetricsListener {
+        AtomicInteger invocations = new AtomicInteger();
+
+        @EventListener
+        @Async
+        public void onMetrics(MetricsEvent event) {
+            invocations.incrementAndGet();
+        }
+    }
+
+    static class BackedUpListener {
+        CountDownLatch finished = new CountDownLatch(10);
+
+        @EventListener
+        @Async(maxConcurrency = 1)
+        public void onQuote(QuoteEvent event) throws InterruptedException {
+            Thread.sleep(30);
+            finished.countDown();
+        }
+    }
+
+    static class BusyListener {
+        @EventListener
+        @Async
+        public void onQuote(QuoteEvent event) throws InterruptedException {
+            Thread.sleep(30);
+        }
+    }
+
+    @Test
+    public void expiredDeadlineSkipsHandlers() {
+        EventRegistry registry = new EventRegistry();
+        SyncListener listener = new SyncListener();
+        registry.register(listener);
+
+        DefaultEventPublisher publisher = new DefaultEventPublisher(registry);
+        publisher.publish(new QuoteEvent(), Instant.now().minusSeconds(1));
+        publisher.publish(new QuoteEvent(), Instant.now().plusSeconds(60));
+
+        assertThat(listener.invocations.get()).isEqualTo(1);
+        assertThat(publisher.getExpiredEvents()).isEqualTo(1L);
+    }
+
+    @Test
+    public void queuedAsyncTasksPastTheirTimeToLiveAreDropped() throws InterruptedException {
+        EventRegistry registry = new EventRegistry();
+        ShortLivedListener listener = new ShortLivedListener();
+        registry.register(listener);
+
+        AsyncExecutor asyncExecutor = new AsyncExecutor();
+        DefaultEventPublisher publisher = new DefaultEventPublisher(registry, asyncExecutor);
+
+        publisher.publish(new QuoteEvent());
+        assertThat(listener.started.await(5, TimeUnit.SECONDS)).isTrue();
+        publisher.publish(new QuoteEvent());
+        publisher.publish(new QuoteEvent());
+
+        // Let the queued tasks outlive their time to live before the first one finishes
+        Thread.sleep(200);
+        listener.release.countDown();
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (publisher.getExpiredEvents() < 2 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(publisher.getExpiredEvents()).isEqualTo(2L);
+        assertThat(listener.invocations.get())
+            .as("Only the task that started in time should run")
+            .isEqualTo(1);
+
+        asyncExecutor.shutdown();
+    }
+
+    @Test
+    public void lowPriorityEventsAreShedUnderOverload() {
+        EventRegistry registry = new EventRegistry();
+        MetricsListener listener = new MetricsListener();
+        registry.register(listener);
+
+        LoadShedder shedder = new LoadShedder(Duration.ofMillis(10), Collections.singletonList(MetricsEvent.class));
+        for (int i = 0; i < 50; i++) {
+            shedder.recordQueueWait(TimeUnit.MILLISECONDS.toNanos(100));
+        }
+
+        AsyncExecutor asyncExecutor = new AsyncExecutor();
+        DefaultEventPublisher publisher = new DefaultEventPublisher(registry, asyncExecutor, shedder);
+        publisher.publish(new MetricsEvent());
+
+        assertThat(publisher.getShedEvents()).isEqualTo(1L);
+        assertThat(listener.invocations.get()).isEqualTo(0);
+
+        asyncExecutor.shutdown();
+    }
+
+    @Test
+    public void deadlineKeepsCountingWhileWaitingForCommit() throws Exception {
+        EventRegistry registry = new EventRegistry();
+        SyncListener listener = new SyncListener();
+        registry.register(listener);
+
+        DefaultEventPublisher delegate = new DefaultEventPublisher(registry);
+        DummyTransactionManager dtm = new DummyTransactionManager();
+        ApplicationEventPublisher publisher = new TransactionalEventPublisher(delegate, dtm);
+
+        dtm.begin();
+        publisher.publish(new QuoteEvent(), Instant.now().plusMillis(50));
+        publisher.publish(new QuoteEvent(), Instant.now().plusSeconds(60));
+        Thread.sleep(100);
+        dtm.commit();
+
+        assertThat(listener.invocations.get())
+            .as("Only the event whose deadline survived the transaction should be handled")
+            .isEqualTo(1);
+        assertThat(delegate.getExpiredEvents()).isEqualTo(1L);
+    }
+
+    @Test
+    public void deduplicatingPublisherForwardsDeadline() {
+        EventRegistry registry = new EventRegistry();
+        SyncListener listener = new SyncListener();
+        registry.register(listener);
+
+        DefaultEventPublisher delegate = new DefaultEventPublisher(registry);
+        ApplicationEventPublisher publisher = new DeduplicatingEventPublisher(
+                delegate, event -> null, new IdempotencyWindow(Duration.ofMinutes(1), 100, 10));
+        publisher.publish(new QuoteEvent(), Instant.now().minusSeconds(1));
+
+        assertThat(listener.invocations.get()).isEqualTo(0);
+        assertThat(delegate.getExpiredEvents()).isEqualTo(1L);
+    }
+
+    @Test
+    public void factoryAppliesLoadShedder() {
+        EventRegistry registry = new EventRegistry();
+        MetricsListener listener = new MetricsListener();
+        registry.register(listener);
+
+        LoadShedder shedder = new LoadShedder(Duration.ofMillis(10), Collections.singletonList(MetricsEvent.class));
+        for (int i = 0; i < 50; i++) {
+            shedder.recordQueueWait(TimeUnit.MILLISECONDS.toNanos(100));
+        }
+
+        AsyncExecutor asyncExecutor = new AsyncExecutor();
+        ApplicationEventPublisher publisher =
+                EventPublisherFactory.createEventPublisher(registry, null, asyncExecutor, shedder);
+        publisher.publish(new MetricsEvent());
+
+        assertThat(((DefaultEventPublisher) publisher).getShedEvents()).isEqualTo(1L);
+        assertThat(listener.invocations.get()).isEqualTo(0);
+
+        asyncExecutor.shutdown();
+    }
+
+    @Test
+    public void backedUpLimitedHandlerDoesNotTriggerGlobalShedding() throws InterruptedException {
+        EventRegistry registry = new EventRegistry();
+        BackedUpListener backedUp = new BackedUpListener();
+        MetricsListener metrics = new MetricsListener();
+        registry.register(backedUp);
+        registry.register(metrics);
+
+        LoadShedder shedder = new LoadShedder(Duration.ofMillis(10), Collections.singletonList(MetricsEvent.class));
+        AsyncExecutor asyncExecutor = new AsyncExecutor();
+        DefaultEventPublisher publisher = new DefaultEventPublisher(registry, asyncExecutor, shedder);
+
+        // Later events wait up to 270 ms in the handler's own queue, far beyond the SLO
+        for (int i = 0; i < 10; i++) {
+            publisher.publish(new QuoteEvent());
+        }
+        assertThat(backedUp.finished.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(shedder.isOverloaded())
+            .as("Waiting behind a handler's concurrency limit is not executor overload")
+            .isFalse();
+        publisher.publish(new MetricsEvent());
+        long deadline = System.currentTimeMillis() + 5000;
+        while (metrics.invocations.get() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(metrics.invocations.get()).isEqualTo(1);
+        assertThat(publisher.getShedEvents()).isEqualTo(0L);
+
+        asyncExecutor.shutdown();
+    }
+
+    @Test
+    public void lowPriorityEventsAreShedWhenExecutorBacksUp() throws InterruptedException {
+        EventRegistry registry = new EventRegistry();
+        MetricsListener metrics = new MetricsListener();
+        registry.register(new BusyListener());
+        registry.register(metrics);
+
+        LoadShedder shedder = new LoadShedder(Duration.ofMillis(10), Collections.singletonList(MetricsEvent.class));
+        // A single thread makes every queued quote wait behind the ones before it
+        AsyncExecutor asyncExecutor = new AsyncExecutor(1, 100);
+        DefaultEventPublisher publisher = new DefaultEventPublisher(registry, asyncExecutor, shedder);
+
+        for (int i = 0; i < 20; i++) {
+            publisher.publish(new QuoteEvent());
+        }
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!shedder.isOverloaded() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(shedder.isOverloaded())
+            .as("Tasks queued behind a busy executor should push the wait over the SLO")
+            .isTrue();
+
+        publisher.publish(new MetricsEvent());
+        assertThat(publisher.getShedEvents()).isEqualTo(1L);
+        assertThat(metrics.invocations.get()).isEqualTo(0);
+
+        asyncExecutor.shutdown();
+    }
+}
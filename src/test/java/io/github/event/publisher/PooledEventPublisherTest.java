@@ -0,0 +1,191 @@
+package io.github.event.publisher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.event.annotations.Async;
+import io.github.event.annotations.EventListener;
+import io.github.event.async.AsyncExecutor;
+import io.github.event.pool.EventPool;
+import io.github.event.pool.PooledEvent;
+import io.github.event.registry.EventRegistry;
+import io.github.event.transaction.DummyTransactionManager;
+
+public class PooledEventPublisherTest {
+
+    static class TickEvent extends PooledEvent {
+        long price;
+
+        @Override
+        protected void reset() {
+            price = 0;
+        }
+    }
+
+    static class SyncListener {
+        long total;
+
+        @EventListener
+        public void onTick(TickEvent event) {
+            total += event.price;
+        }
+    }
+
+    static class BlockingAsyncListener {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch proceed = new CountDownLatch(1);
+        CountDownLatch finished = new CountDownLatch(1);
+        volatile long seenPrice;
+
+        @EventListener
+        @Async
+        public void onTick(TickEvent event) throws InterruptedException {
+            started.countDown();
+            proceed.await(5, TimeUnit.SECONDS);
+            seenPrice = event.price;
+            finished.countDown();
+        }
+    }
+
+    @Test
+    public void asyncHandlerKeepsPooledEventAlive() throws InterruptedException {
+        EventRegistry registry = new EventRegistry();
+        BlockingAsyncListener listener = new BlockingAsyncListener();
+        registry.register(listener);
+
+        AsyncExecutor asyncExecutor = new AsyncExecutor();
+        ApplicationEventPublisher publisher = new DefaultEventPublisher(registry, asyncExecutor);
+        EventPool<TickEvent> pool = new EventPool<>(TickEvent::new, 4);
+
+        TickEvent event = pool.acquire();
+        event.price = 7;
+        publisher.publish(event);
+        event.release();
+
+        assertThat(listener.started.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(pool.available())
+            .as("Event must not be recycled while an async handler is running")
+            .isEqualTo(0);
+
+        listener.proceed.countDown();
+        assertThat(listener.finished.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(listener.seenPrice)
+            .as("Async handler should observe the published state")
+            .isEqualTo(7L);
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (pool.available() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(pool.available())
+            .as("Event should be recycled once the async handler completes")
+            .isEqualTo(1);
+
+        asyncExecutor.shutdown();
+    }
+
+    @Test
+    public void unpooledEventCanBePublishedToAsyncHandler() throws InterruptedException {
+        EventRegistry registry = new EventRegistry();
+        BlockingAsyncListener listener = new BlockingAsyncListener();
+        registry.register(listener);
+
+        AsyncExecutor asyncExecutor = new AsyncExecutor();
+        ApplicationEventPublisher publisher = new DefaultEventPublisher(registry, asyncExecutor);
+
+        TickEvent event = new TickEvent();
+        event.price = 3;
+        publisher.publish(event);
+        listener.proceed.countDown();
+
+        assertThat(listener.finished.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(listener.seenPrice).isEqualTo(3L);
+
+        asyncExecutor.shutdown();
+    }
+
+    static class FailingListener {
+        int invocations;
+
+        @EventListener
+        public void onTick(TickEvent event) {
+            invocations++;
+            if (event.price == 1) {
+                throw new IllegalStateException("handler failure");
+            }
+        }
+    }
+
+    @Test
+    public void failedTransactionalFlushReleasesRemainingEvents() throws Exception {
+        DummyTransactionManager dtm = new DummyTransactionManager();
+        dtm.begin();
+
+        EventRegistry registry = new EventRegistry();
+        FailingListener listener = new FailingListener();
+        registry.register(listener);
+
+        ApplicationEventPublisher publisher = new TransactionalEventPublisher(registry, dtm);
+        EventPool<TickEvent> pool = new EventPool<>(TickEvent::new, 4);
+        for (long price = 1; price <= 3; price++) {
+            TickEvent event = pool.acquire();
+            event.price = price;
+            publisher.publish(event);
+            event.release();
+        }
+
+        assertThatThrownBy(dtm::commit).isInstanceOf(RuntimeException.class);
+        assertThat(pool.available())
+            .as("Events left unpublished by the failure should still be recycled")
+            .isEqualTo(3);
+
+        dtm.begin();
+        dtm.commit();
+        assertThat(listener.invocations)
+            .as("Delayed events should not be replayed on the next commit")
+            .isEqualTo(1);
+    }
+
+    @Test
+    public void synchronousPooledPublishDoesNotAllocate() {
+        com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        EventRegistry registry = new EventRegistry();
+        SyncListener listener = new SyncListener();
+        registry.register(listener);
+
+        ApplicationEventPublisher publisher = new DefaultEventPublisher(registry);
+        EventPool<TickEvent> pool = new EventPool<>(TickEvent::new, 16);
+
+        // Warm up so the handler lookup is cached and the path is compiled
+        for (int i = 0; i < 200_000; i++) {
+            publishTick(publisher, pool, i);
+        }
+
+        long before = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < 100_000; i++) {
+            publishTick(publisher, pool, i);
+        }
+        long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+
+        assertThat(allocated)
+            .as("Publishing pooled events to synchronous handlers should not allocate")
+            .isLessThan(100_000L);
+        assertThat(listener.total).isGreaterThan(0L);
+    }
+
+    private static void publishTick(ApplicationEventPublisher publisher, EventPool<TickEvent> pool, long price) {
+        TickEvent event = pool.acquire();
+        event.price = price;
+        publisher.publish(event);
+        event.release();
+    }
+}
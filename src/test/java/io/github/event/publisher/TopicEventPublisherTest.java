@@ -0,0 +1,83 @@
+package io.github.event.publisher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.event.annotations.EventListener;
+import io.github.event.registry.EventRegistry;
+import io.github.event.transaction.DummyTransactionManager;
+
+public class TopicEventPublisherTest {
+
+    static class OrderEvent { }
+
+    static class OrderListener {
+        List<String> received = new ArrayList<>();
+
+        @EventListener(topic = "orders.*.created")
+        public void onCreated(OrderEvent event) {
+            received.add("created");
+        }
+
+        @EventListener(topic = "orders.#")
+        public void onAnyOrder(OrderEvent event) {
+            received.add("any");
+        }
+
+        @EventListener(topic = "orders.#")
+        public void onAnyString(String event) {
+            received.add("string");
+        }
+
+        @EventListener
+        public void onTyped(OrderEvent event) {
+            received.add("typed");
+        }
+    }
+
+    @Test
+    public void topicPublishRoutesThroughWildcardSubscriptions() {
+        EventRegistry registry = new EventRegistry();
+        OrderListener listener = new OrderListener();
+        registry.register(listener);
+
+        ApplicationEventPublisher publisher = new DefaultEventPublisher(registry);
+        publisher.publish("orders.eu.created", new OrderEvent());
+
+        assertThat(listener.received)
+            .as("Only topic subscriptions accepting the event type should be invoked")
+            .containsExactlyInAnyOrder("created", "any");
+
+        listener.received.clear();
+        publisher.publish("orders.eu.cancelled", new OrderEvent());
+        assertThat(listener.received).containsExactly("any");
+
+        listener.received.clear();
+        publisher.publish(new OrderEvent());
+        assertThat(listener.received)
+            .as("Publishing without a topic should only reach type-based listeners")
+            .containsExactly("typed");
+    }
+
+    @Test
+    public void topicPublishIsDelayedDuringTransaction() throws Exception {
+        DummyTransactionManager dtm = new DummyTransactionManager();
+        dtm.begin();
+
+        EventRegistry registry = new EventRegistry();
+        OrderListener listener = new OrderListener();
+        registry.register(listener);
+
+        ApplicationEventPublisher publisher = new TransactionalEventPublisher(registry, dtm);
+        publisher.publish("orders.us.created", new OrderEvent());
+
+        assertThat(listener.received).isEmpty();
+
+        dtm.commit();
+        assertThat(listener.received).containsExactlyInAnyOrder("created", "any");
+    }
+}
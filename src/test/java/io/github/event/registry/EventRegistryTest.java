@@ -1,6 +1,7 @@
 package io.github.event.registry;
 
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import org.junit.jupiter.api.Test;
@@ -35,4 +36,37 @@ public class EventRegistryTest {
         assertThat(handler.getInstance()).isEqualTo(listener);
         assertThat(handler.getMethod().getParameterTypes()[0]).isEqualTo(TestEvent.class);
     }
-} 
\ No newline at end of file
+
+    static class OtherListener {
+        @EventListener
+        public void handleEvent(TestEvent event) {
+        }
+    }
+
+    @Test
+    public void lookupRacingWithRegisterDoesNotCacheStaleHandlers() throws InterruptedException {
+        for (int i = 0; i < 500; i++) {
+            EventRegistry registry = new EventRegistry();
+            registry.register(new DummyListener());
+            CountDownLatch start = new CountDownLatch(1);
+            Thread lookup = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int j = 0; j < 20; j++) {
+                    registry.getHandlersForEvent(new TestEvent());
+                }
+            });
+            lookup.start();
+            start.countDown();
+            registry.register(new OtherListener());
+            lookup.join();
+
+            assertThat(registry.getHandlersForEvent(new TestEvent()))
+                .as("Handlers registered during a concurrent lookup must not be lost")
+                .hasSize(2);
+        }
+    }
+}
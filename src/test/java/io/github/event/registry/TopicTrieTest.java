@@ -0,0 +1,61 @@
+package io.github.event.registry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.lang.reflect.Method;
+
+import org.junit.jupiter.api.Test;
+
+public class TopicTrieTest {
+
+    static class DummyListener {
+        public void handle(Object event) {
+        }
+    }
+
+    private static HandlerMethod handler() throws Exception {
+        Method method = DummyListener.class.getMethod("handle", Object.class);
+        return new HandlerMethod(new DummyListener(), method);
+    }
+
+    @Test
+    public void literalAndSingleWildcardMatching() throws Exception {
+        TopicTrie trie = new TopicTrie();
+        HandlerMethod exact = handler();
+        HandlerMethod anyRegion = handler();
+        trie.add("orders.eu.created", exact);
+        trie.add("orders.*.created", anyRegion);
+
+        assertThat(trie.match("orders.eu.created")).containsExactlyInAnyOrder(exact, anyRegion);
+        assertThat(trie.match("orders.us.created")).containsExactly(anyRegion);
+        assertThat(trie.match("orders.eu.west.created"))
+            .as("'*' should match exactly one segment")
+            .isEmpty();
+    }
+
+    @Test
+    public void multiWildcardMatchesZeroOrMoreSegments() throws Exception {
+        TopicTrie trie = new TopicTrie();
+        HandlerMethod allOrders = handler();
+        HandlerMethod everything = handler();
+        HandlerMethod anyCreated = handler();
+        trie.add("orders.#", allOrders);
+        trie.add("#", everything);
+        trie.add("#.created", anyCreated);
+
+        assertThat(trie.match("orders")).containsExactlyInAnyOrder(allOrders, everything);
+        assertThat(trie.match("orders.eu.west.created")).containsExactlyInAnyOrder(allOrders, everything, anyCreated);
+        assertThat(trie.match("payments.created")).containsExactlyInAnyOrder(everything, anyCreated);
+    }
+
+    @Test
+    public void invalidTopicsAreRejected() throws Exception {
+        TopicTrie trie = new TopicTrie();
+
+        assertThatThrownBy(() -> trie.add("orders..created", handler()))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> trie.match("orders.*"))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}